@@ -0,0 +1,102 @@
+package de.cubbossa.menuframework.protocol;
+
+import javax.annotation.Nullable;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps track of the anvil menu that each player is currently typing into, so that incoming packets can be routed
+ * to exactly one menu. Sessions are identified by player uuid and container id. Packets are received on netty threads,
+ * therefore all methods are thread safe.
+ *
+ * @param <M> The menu type.
+ */
+public class AnvilSessions<M> {
+
+	private static class Session<M> {
+		private final int containerId;
+		private final M menu;
+
+		private Session(int containerId, M menu) {
+			this.containerId = containerId;
+			this.menu = menu;
+		}
+	}
+
+	private final Map<UUID, Session<M>> sessions = new ConcurrentHashMap<>();
+
+	/**
+	 * Starts a new session and replaces the previous session of the player.
+	 *
+	 * @param player      The uuid of the player.
+	 * @param containerId The id of the anvil container that has been opened for the player.
+	 * @param menu        The menu that owns the container.
+	 */
+	public void open(UUID player, int containerId, M menu) {
+		sessions.put(player, new Session<>(containerId, menu));
+	}
+
+	/**
+	 * Ends the session of the player if it belongs to the given container.
+	 *
+	 * @param player      The uuid of the player.
+	 * @param containerId The id of the closed container.
+	 */
+	public void close(UUID player, int containerId) {
+		sessions.computeIfPresent(player, (uuid, session) -> session.containerId == containerId ? null : session);
+	}
+
+	/**
+	 * Ends the session of the player if it belongs to the given menu.
+	 *
+	 * @param player The uuid of the player.
+	 * @param menu   The closed menu.
+	 */
+	public void close(UUID player, M menu) {
+		sessions.computeIfPresent(player, (uuid, session) -> session.menu == menu ? null : session);
+	}
+
+	/**
+	 * @param player The uuid of the player.
+	 * @return The menu of the current session of the player or null if the player has no open anvil menu.
+	 */
+	public @Nullable M route(UUID player) {
+		Session<M> session = sessions.get(player);
+		return session == null ? null : session.menu;
+	}
+
+	/**
+	 * Resolves the menu for a packet that contains a container id. If the player interacts with another container,
+	 * the session is outdated and will be removed.
+	 *
+	 * @param player      The uuid of the player.
+	 * @param containerId The container id of the packet.
+	 * @return The menu of the session or null if the player has no open anvil menu with the given container id.
+	 */
+	public @Nullable M route(UUID player, int containerId) {
+		Session<M> session = sessions.get(player);
+		if (session == null) {
+			return null;
+		}
+		if (session.containerId != containerId) {
+			sessions.remove(player, session);
+			return null;
+		}
+		return session.menu;
+	}
+
+	/**
+	 * @param player The uuid of the player.
+	 * @param menu   The menu to check.
+	 * @return true if the given menu is the current session of the player.
+	 */
+	public boolean isOpen(UUID player, M menu) {
+		Session<M> session = sessions.get(player);
+		return session != null && session.menu == menu;
+	}
+
+	public int size() {
+		return sessions.size();
+	}
+}
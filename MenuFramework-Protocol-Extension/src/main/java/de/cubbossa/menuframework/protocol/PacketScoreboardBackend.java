@@ -0,0 +1,109 @@
+package de.cubbossa.menuframework.protocol;
+
+import com.comphenix.protocol.ProtocolLibrary;
+import de.cubbossa.menuframework.scoreboard.CustomScoreboard;
+import de.cubbossa.menuframework.scoreboard.ScoreboardBackend;
+import org.bukkit.ChatColor;
+import org.bukkit.entity.Player;
+
+import javax.annotation.Nullable;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * Renders {@link CustomScoreboard}s with objective, score and team packets. The server does not keep any scoreboard
+ * objects for the viewers and only the packets for changed lines are sent. The backend only remembers which teams have
+ * been created on the client of each viewer.
+ * <br>
+ * Enable it for all scoreboards that are shown afterwards with:
+ * <pre>CustomScoreboardHandler.getInstance().setBackend(new PacketScoreboardBackend());</pre>
+ */
+public class PacketScoreboardBackend implements ScoreboardBackend {
+
+	private final ScoreboardPackets packets;
+	// Objective and team names are limited to 16 characters, so each scoreboard gets a short unique name instead of its identifier
+	private final Map<CustomScoreboard, String> objectiveNames = new WeakHashMap<>();
+	private int nextObjectiveId = 0;
+	// The teams that exist on the client of each viewer. A team is kept while its line is empty.
+	private final Map<Player, Set<String>> createdTeams = new WeakHashMap<>();
+
+	public PacketScoreboardBackend() {
+		this(new ProtocolLibScoreboardPackets(ProtocolLibrary.getProtocolManager()));
+	}
+
+	public PacketScoreboardBackend(ScoreboardPackets packets) {
+		this.packets = packets;
+	}
+
+	@Override
+	public void show(Player player, CustomScoreboard scoreboard, String title, @Nullable String[] lines) {
+		String objective = getObjectiveName(scoreboard);
+		Set<String> teams = createdTeams.computeIfAbsent(player, p -> new HashSet<>());
+		packets.sendObjective(player, objective, ScoreboardPackets.OBJECTIVE_CREATE, title);
+		for (int i = 0; i < lines.length; i++) {
+			int line = lines.length - i;
+			String entry = getEntry(line);
+			String team = getTeamName(scoreboard, i);
+			// Teams of a previous connection of the player don't exist on the client anymore
+			teams.remove(team);
+			if (lines[i] != null) {
+				packets.sendTeam(player, team, ScoreboardPackets.TEAM_CREATE, lines[i], Collections.singleton(entry));
+				teams.add(team);
+			}
+			packets.sendScore(player, objective, entry, line);
+		}
+		// Display once all lines are set, so the client does not render a half filled scoreboard
+		packets.sendDisplaySidebar(player, objective);
+	}
+
+	@Override
+	public void updateLine(Player player, CustomScoreboard scoreboard, int index, @Nullable String previous, @Nullable String line) {
+		String prefix = line == null ? "" : line;
+		String team = getTeamName(scoreboard, index);
+		if (createdTeams.computeIfAbsent(player, p -> new HashSet<>()).add(team)) {
+			String entry = getEntry(scoreboard.getLines() - index);
+			packets.sendTeam(player, team, ScoreboardPackets.TEAM_CREATE, prefix, Collections.singleton(entry));
+		} else {
+			packets.sendTeam(player, team, ScoreboardPackets.TEAM_UPDATE, prefix, Collections.emptyList());
+		}
+	}
+
+	@Override
+	public void updateTitle(Player player, CustomScoreboard scoreboard, String title) {
+		packets.sendObjective(player, getObjectiveName(scoreboard), ScoreboardPackets.OBJECTIVE_UPDATE, title);
+	}
+
+	@Override
+	public void hide(Player player, CustomScoreboard scoreboard, @Nullable String[] lines) {
+		// Removing the objective also removes its scores on the client
+		packets.sendObjective(player, getObjectiveName(scoreboard), ScoreboardPackets.OBJECTIVE_REMOVE, null);
+		Set<String> teams = createdTeams.get(player);
+		if (teams == null) {
+			return;
+		}
+		for (int i = 0; i < lines.length; i++) {
+			String team = getTeamName(scoreboard, i);
+			if (teams.remove(team)) {
+				packets.sendTeam(player, team, ScoreboardPackets.TEAM_REMOVE, null, Collections.emptyList());
+			}
+		}
+		if (teams.isEmpty()) {
+			createdTeams.remove(player);
+		}
+	}
+
+	private String getObjectiveName(CustomScoreboard scoreboard) {
+		return objectiveNames.computeIfAbsent(scoreboard, s -> "mf" + Integer.toString(nextObjectiveId++, 36));
+	}
+
+	private String getTeamName(CustomScoreboard scoreboard, int index) {
+		return getObjectiveName(scoreboard) + Integer.toHexString(index);
+	}
+
+	private String getEntry(int line) {
+		return "§" + Integer.toHexString(line) + ChatColor.WHITE;
+	}
+}
@@ -14,12 +14,11 @@ import de.cubbossa.menuframework.inventory.listener.MenuListener;
 import lombok.Getter;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
+import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.plugin.Plugin;
 
 import javax.annotation.Nullable;
-import java.util.Collection;
-import java.util.HashSet;
 import java.util.logging.Level;
 
 public class ProtocolLibListener extends PacketAdapter implements MenuListener {
@@ -28,7 +27,7 @@ public class ProtocolLibListener extends PacketAdapter implements MenuListener {
 	@Getter
 	private static ProtocolLibListener instance;
 
-	private final Collection<AnvilMenu> menus = new HashSet<>();
+	private final AnvilSessions<AnvilMenu> sessions = new AnvilSessions<>();
 
 	public ProtocolLibListener(Plugin plugin) {
 		super(plugin, PacketType.Play.Client.ITEM_NAME, PacketType.Play.Client.WINDOW_CLICK, PacketType.Play.Client.CLOSE_WINDOW);
@@ -40,22 +39,52 @@ public class ProtocolLibListener extends PacketAdapter implements MenuListener {
 
 	@Override
 	public void register(Menu menu) {
+		// Anvil sessions are tracked per viewer
+	}
+
+	@Override
+	public void unregister(Menu menu) {
+	}
+
+	@Override
+	public void register(Menu menu, Player viewer, @Nullable Inventory inventory) {
 		if (menu instanceof AnvilMenu) {
-			menus.add((AnvilMenu) menu);
+			AnvilMenu anvilMenu = (AnvilMenu) menu;
+			sessions.open(viewer.getUniqueId(), anvilMenu.getContainerId(viewer), anvilMenu);
 		}
 	}
 
 	@Override
-	public void unregister(Menu menu) {
-		menus.remove(menu);
+	public void unregister(Menu menu, Player viewer, @Nullable Inventory inventory) {
+		if (menu instanceof AnvilMenu) {
+			sessions.close(viewer.getUniqueId(), (AnvilMenu) menu);
+		}
 	}
 
 	@Override
 	public void onPacketReceiving(PacketEvent packetEvent) {
-		if (packetEvent.getPacket().getType() == PacketType.Play.Client.ITEM_NAME) {
-			GUIHandler.getInstance().callSynchronized(() -> handleItemNamePacket(packetEvent));
+		PacketContainer packet = packetEvent.getPacket();
+		Player player = packetEvent.getPlayer();
+		if (player == null) {
+			return;
+		}
+		if (packet.getType() == PacketType.Play.Client.ITEM_NAME) {
+			AnvilMenu menu = sessions.route(player.getUniqueId());
+			if (menu == null) {
+				return;
+			}
+			String text = packet.getStrings().read(0);
+			GUIHandler.getInstance().callSynchronized(() -> handleItemNamePacket(player, menu, text));
+			return;
+		}
+		if (packet.getType() == PacketType.Play.Client.WINDOW_CLICK) {
+			// Drops the session if the player clicks in another container
+			sessions.route(player.getUniqueId(), packet.getIntegers().read(0));
 			return;
 		}
+		if (packet.getType() == PacketType.Play.Client.CLOSE_WINDOW) {
+			sessions.close(player.getUniqueId(), packet.getIntegers().read(0));
+		}
 	}
 
 	public void addPacketListerner() {
@@ -71,7 +100,7 @@ public class ProtocolLibListener extends PacketAdapter implements MenuListener {
 			itemStack = new ItemStack(Material.AIR);
 		}
 		PacketContainer packet = ProtocolLibrary.getProtocolManager().createPacket(PacketType.Play.Server.SET_SLOT);
-		packet.getIntegers().write(0, menu.getContainerId());
+		packet.getIntegers().write(0, menu.getContainerId(player));
 		packet.getIntegers().write(1, slot);
 		packet.getItemModifier().write(0, itemStack);
 		sendPacket(player, packet);
@@ -79,18 +108,19 @@ public class ProtocolLibListener extends PacketAdapter implements MenuListener {
 
 	public void sendLevelCostPacket(Player player, AnvilMenu menu) {
 		PacketContainer packet = ProtocolLibrary.getProtocolManager().createPacket(PacketType.Play.Server.WINDOW_DATA);
-		packet.getIntegers().write(0, menu.getContainerId());
+		packet.getIntegers().write(0, menu.getContainerId(player));
 		packet.getIntegers().write(1, REPAIR_COST_PROPERTY);
 		packet.getIntegers().write(2, menu.getXpCosts());
 		sendPacket(player, packet);
 	}
 
-	private void handleItemNamePacket(PacketEvent packetEvent) {
-		PacketContainer packet = packetEvent.getPacket();
-		menus.forEach(anvilMenu -> {
-			anvilMenu.handleInteract(AnvilMenu.WRITE, new TargetContext<>(packetEvent.getPlayer(), anvilMenu, 0, AnvilMenu.WRITE, false, packet.getStrings().read(0)));
-			sendLevelCostPacket(packetEvent.getPlayer(), anvilMenu);
-		});
+	private void handleItemNamePacket(Player player, AnvilMenu anvilMenu, String text) {
+		// The menu might have been closed while the packet was waiting for the main thread
+		if (!sessions.isOpen(player.getUniqueId(), anvilMenu)) {
+			return;
+		}
+		anvilMenu.handleInteract(AnvilMenu.WRITE, new TargetContext<>(player, anvilMenu, 0, AnvilMenu.WRITE, false, text));
+		sendLevelCostPacket(player, anvilMenu);
 	}
 
 	private void sendPacket(Player player, PacketContainer packet) {
@@ -0,0 +1,98 @@
+package de.cubbossa.menuframework.protocol;
+
+import com.comphenix.protocol.PacketType;
+import com.comphenix.protocol.ProtocolManager;
+import com.comphenix.protocol.events.InternalStructure;
+import com.comphenix.protocol.events.PacketContainer;
+import com.comphenix.protocol.utility.MinecraftReflection;
+import com.comphenix.protocol.wrappers.EnumWrappers;
+import com.comphenix.protocol.wrappers.WrappedChatComponent;
+import de.cubbossa.menuframework.GUIHandler;
+import org.bukkit.ChatColor;
+import org.bukkit.entity.Player;
+
+import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.logging.Level;
+
+/**
+ * Creates the scoreboard packets with ProtocolLib and sends them through the given protocol manager.
+ */
+public class ProtocolLibScoreboardPackets implements ScoreboardPackets {
+
+	private static final int SIDEBAR_SLOT = 1;
+
+	// Converted to the minecraft enum by name
+	private enum RenderType {
+		INTEGER, HEARTS
+	}
+
+	private final ProtocolManager protocolManager;
+
+	public ProtocolLibScoreboardPackets(ProtocolManager protocolManager) {
+		this.protocolManager = protocolManager;
+	}
+
+	@Override
+	public void sendObjective(Player player, String objective, int mode, @Nullable String title) {
+		PacketContainer packet = protocolManager.createPacket(PacketType.Play.Server.SCOREBOARD_OBJECTIVE);
+		packet.getStrings().write(0, objective);
+		packet.getIntegers().write(0, mode);
+		if (mode != OBJECTIVE_REMOVE) {
+			packet.getChatComponents().write(0, WrappedChatComponent.fromLegacyText(title == null ? "" : title));
+			packet.getEnumModifier(RenderType.class, 2).write(0, RenderType.INTEGER);
+		}
+		sendPacket(player, packet);
+	}
+
+	@Override
+	public void sendDisplaySidebar(Player player, String objective) {
+		PacketContainer packet = protocolManager.createPacket(PacketType.Play.Server.SCOREBOARD_DISPLAY_OBJECTIVE);
+		packet.getIntegers().write(0, SIDEBAR_SLOT);
+		packet.getStrings().write(0, objective);
+		sendPacket(player, packet);
+	}
+
+	@Override
+	public void sendScore(Player player, String objective, String entry, int score) {
+		PacketContainer packet = protocolManager.createPacket(PacketType.Play.Server.SCOREBOARD_SCORE);
+		packet.getStrings().write(0, entry);
+		packet.getStrings().write(1, objective);
+		packet.getIntegers().write(0, score);
+		packet.getScoreboardActions().write(0, EnumWrappers.ScoreboardAction.CHANGE);
+		sendPacket(player, packet);
+	}
+
+	@Override
+	public void sendTeam(Player player, String team, int mode, @Nullable String prefix, Collection<String> entries) {
+		PacketContainer packet = protocolManager.createPacket(PacketType.Play.Server.SCOREBOARD_TEAM);
+		packet.getStrings().write(0, team);
+		packet.getIntegers().write(0, mode);
+		if (mode == TEAM_CREATE || mode == TEAM_UPDATE) {
+			Optional<InternalStructure> parameters = packet.getOptionalStructures().read(0);
+			if (parameters.isPresent()) {
+				InternalStructure structure = parameters.get();
+				structure.getChatComponents().write(0, WrappedChatComponent.fromText(""));
+				structure.getChatComponents().write(1, WrappedChatComponent.fromLegacyText(prefix == null ? "" : prefix));
+				structure.getChatComponents().write(2, WrappedChatComponent.fromText(""));
+				structure.getStrings().write(0, "always");
+				structure.getStrings().write(1, "always");
+				structure.getEnumModifier(ChatColor.class, MinecraftReflection.getMinecraftClass("EnumChatFormat")).write(0, ChatColor.RESET);
+				packet.getOptionalStructures().write(0, Optional.of(structure));
+			}
+		}
+		if (mode == TEAM_CREATE) {
+			packet.getSpecificModifier(Collection.class).write(0, entries);
+		}
+		sendPacket(player, packet);
+	}
+
+	private void sendPacket(Player player, PacketContainer packet) {
+		try {
+			protocolManager.sendServerPacket(player, packet);
+		} catch (Exception exc) {
+			GUIHandler.getInstance().getLogger().log(Level.SEVERE, "Error while sending scoreboard packet.", exc);
+		}
+	}
+}
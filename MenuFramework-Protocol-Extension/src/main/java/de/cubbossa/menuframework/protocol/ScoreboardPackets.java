@@ -0,0 +1,51 @@
+package de.cubbossa.menuframework.protocol;
+
+import org.bukkit.entity.Player;
+
+import javax.annotation.Nullable;
+import java.util.Collection;
+
+/**
+ * Sends the scoreboard packets that are required by the {@link PacketScoreboardBackend}.
+ */
+public interface ScoreboardPackets {
+
+	int OBJECTIVE_CREATE = 0;
+	int OBJECTIVE_REMOVE = 1;
+	int OBJECTIVE_UPDATE = 2;
+
+	int TEAM_CREATE = 0;
+	int TEAM_REMOVE = 1;
+	int TEAM_UPDATE = 2;
+
+	/**
+	 * @param objective The name of the objective.
+	 * @param mode      One of {@link #OBJECTIVE_CREATE}, {@link #OBJECTIVE_REMOVE} and {@link #OBJECTIVE_UPDATE}.
+	 * @param title     The title in legacy format, null if the objective is removed.
+	 */
+	void sendObjective(Player player, String objective, int mode, @Nullable String title);
+
+	/**
+	 * Displays the objective in the sidebar.
+	 *
+	 * @param objective The name of the objective.
+	 */
+	void sendDisplaySidebar(Player player, String objective);
+
+	/**
+	 * Sets the score of an entry.
+	 *
+	 * @param objective The name of the objective.
+	 * @param entry     The name of the score entry.
+	 * @param score     The score to set.
+	 */
+	void sendScore(Player player, String objective, String entry, int score);
+
+	/**
+	 * @param team    The name of the team.
+	 * @param mode    One of {@link #TEAM_CREATE}, {@link #TEAM_REMOVE} and {@link #TEAM_UPDATE}.
+	 * @param prefix  The prefix in legacy format, null if the team is removed.
+	 * @param entries The entries to add when creating the team.
+	 */
+	void sendTeam(Player player, String team, int mode, @Nullable String prefix, Collection<String> entries);
+}
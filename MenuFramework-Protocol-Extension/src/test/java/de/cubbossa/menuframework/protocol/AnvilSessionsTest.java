@@ -0,0 +1,57 @@
+package de.cubbossa.menuframework.protocol;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+public class AnvilSessionsTest {
+
+	@Test
+	public void routeToOwnSession() {
+		AnvilSessions<String> sessions = new AnvilSessions<>();
+		List<UUID> players = new ArrayList<>();
+		for (int i = 0; i < 50; i++) {
+			UUID player = UUID.randomUUID();
+			players.add(player);
+			sessions.open(player, i + 1, "menu" + i);
+		}
+		for (int i = 0; i < 50; i++) {
+			Assert.assertEquals("menu" + i, sessions.route(players.get(i)));
+			Assert.assertEquals("menu" + i, sessions.route(players.get(i), i + 1));
+		}
+		Assert.assertNull(sessions.route(UUID.randomUUID()));
+	}
+
+	@Test
+	public void dropStaleContainer() {
+		AnvilSessions<String> sessions = new AnvilSessions<>();
+		UUID player = UUID.randomUUID();
+		sessions.open(player, 3, "search");
+
+		sessions.close(player, 2);
+		Assert.assertEquals("search", sessions.route(player));
+
+		Assert.assertNull(sessions.route(player, 4));
+		Assert.assertNull(sessions.route(player));
+	}
+
+	@Test
+	public void reopenReplacesSession() {
+		AnvilSessions<String> sessions = new AnvilSessions<>();
+		UUID player = UUID.randomUUID();
+		sessions.open(player, 1, "first");
+		sessions.open(player, 2, "second");
+
+		// closing the first menu must not end the session of the second one
+		sessions.close(player, "first");
+		sessions.close(player, 1);
+		Assert.assertTrue(sessions.isOpen(player, "second"));
+
+		sessions.close(player, 2);
+		Assert.assertFalse(sessions.isOpen(player, "second"));
+		Assert.assertEquals(0, sessions.size());
+	}
+}
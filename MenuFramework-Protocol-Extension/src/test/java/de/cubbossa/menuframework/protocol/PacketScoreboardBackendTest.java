@@ -0,0 +1,142 @@
+package de.cubbossa.menuframework.protocol;
+
+import de.cubbossa.menuframework.scoreboard.CustomScoreboard;
+import net.kyori.adventure.text.Component;
+import org.bukkit.entity.Player;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+public class PacketScoreboardBackendTest {
+
+	private static class RecordingPackets implements ScoreboardPackets {
+
+		private final List<String> packets = new ArrayList<>();
+
+		@Override
+		public void sendObjective(Player player, String objective, int mode, String title) {
+			packets.add("objective " + objective + " " + mode + " " + title);
+		}
+
+		@Override
+		public void sendDisplaySidebar(Player player, String objective) {
+			packets.add("display " + objective);
+		}
+
+		@Override
+		public void sendScore(Player player, String objective, String entry, int score) {
+			packets.add("score " + objective + " " + score);
+		}
+
+		@Override
+		public void sendTeam(Player player, String team, int mode, String prefix, Collection<String> entries) {
+			packets.add("team " + team + " " + mode + " " + prefix + " " + entries.size());
+		}
+	}
+
+	@Test
+	public void showSendsAllLines() {
+		RecordingPackets packets = new RecordingPackets();
+		PacketScoreboardBackend backend = new PacketScoreboardBackend(packets);
+		CustomScoreboard scoreboard = new CustomScoreboard("lobby", Component.text("Lobby"), 3);
+
+		// The backend never accesses the player, it is only passed to the packets
+		backend.show(null, scoreboard, "Lobby", new String[]{"a", null, "c"});
+
+		Assert.assertEquals(Arrays.asList(
+				"objective mf0 0 Lobby",
+				"team mf00 0 a 1",
+				"score mf0 3",
+				"score mf0 2",
+				"team mf02 0 c 1",
+				"score mf0 1",
+				"display mf0"
+		), packets.packets);
+	}
+
+	@Test
+	public void updateSendsOnlyTheLine() {
+		RecordingPackets packets = new RecordingPackets();
+		PacketScoreboardBackend backend = new PacketScoreboardBackend(packets);
+		CustomScoreboard scoreboard = new CustomScoreboard("lobby", Component.text("Lobby"), 3);
+
+		backend.show(null, scoreboard, "Lobby", new String[]{"a", null, null});
+		packets.packets.clear();
+		backend.updateLine(null, scoreboard, 0, "a", "b");
+		backend.updateLine(null, scoreboard, 1, null, "new");
+		backend.updateTitle(null, scoreboard, "Title");
+
+		Assert.assertEquals(Arrays.asList(
+				"team mf00 2 b 0",
+				"team mf01 0 new 1",
+				"objective mf0 2 Title"
+		), packets.packets);
+	}
+
+	@Test
+	public void hideRemovesObjectiveAndTeams() {
+		RecordingPackets packets = new RecordingPackets();
+		PacketScoreboardBackend backend = new PacketScoreboardBackend(packets);
+		CustomScoreboard scoreboard = new CustomScoreboard("lobby", Component.text("Lobby"), 2);
+
+		backend.show(null, scoreboard, "Lobby", new String[]{null, "b"});
+		packets.packets.clear();
+		backend.hide(null, scoreboard, new String[]{null, "b"});
+
+		Assert.assertEquals(Arrays.asList(
+				"objective mf0 1 null",
+				"team mf01 1 null 0"
+		), packets.packets);
+	}
+
+	@Test
+	public void createEachTeamOnce() {
+		RecordingPackets packets = new RecordingPackets();
+		PacketScoreboardBackend backend = new PacketScoreboardBackend(packets);
+		CustomScoreboard scoreboard = new CustomScoreboard("lobby", Component.text("Lobby"), 2);
+
+		backend.show(null, scoreboard, "Lobby", new String[]{null, null});
+		packets.packets.clear();
+		backend.updateLine(null, scoreboard, 0, null, "a");
+		backend.updateLine(null, scoreboard, 0, "a", null);
+		backend.updateLine(null, scoreboard, 0, null, "b");
+		// The line is empty, but its team still exists
+		backend.hide(null, scoreboard, new String[]{null, null});
+
+		Assert.assertEquals(Arrays.asList(
+				"team mf00 0 a 1",
+				"team mf00 2  0",
+				"team mf00 2 b 0",
+				"objective mf0 1 null",
+				"team mf00 1 null 0"
+		), packets.packets);
+	}
+
+	@Test
+	public void uniqueNamesForSharedPrefix() {
+		RecordingPackets packets = new RecordingPackets();
+		PacketScoreboardBackend backend = new PacketScoreboardBackend(packets);
+		CustomScoreboard first = new CustomScoreboard("a_very_long_scoreboard_identifier_1", Component.text("1"), 1);
+		CustomScoreboard second = new CustomScoreboard("a_very_long_scoreboard_identifier_2", Component.text("2"), 1);
+
+		backend.show(null, first, "1", new String[]{"a"});
+		backend.show(null, second, "2", new String[]{"b"});
+		backend.updateTitle(null, first, "Title");
+
+		Assert.assertEquals(Arrays.asList(
+				"objective mf0 0 1",
+				"team mf00 0 a 1",
+				"score mf0 1",
+				"display mf0",
+				"objective mf1 0 2",
+				"team mf10 0 b 1",
+				"score mf1 1",
+				"display mf1",
+				"objective mf0 2 Title"
+		), packets.packets);
+	}
+}
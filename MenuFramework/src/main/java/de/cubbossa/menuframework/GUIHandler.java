@@ -8,6 +8,10 @@ import de.cubbossa.menuframework.inventory.exception.OpenMenuException;
 import de.cubbossa.menuframework.inventory.listener.HotbarListener;
 import de.cubbossa.menuframework.inventory.listener.InventoryListener;
 import de.cubbossa.menuframework.scoreboard.CustomScoreboardHandler;
+import de.cubbossa.menuframework.scoreboard.ScoreboardScheduler;
+import de.cubbossa.menuframework.util.AnimationEngine;
+import de.cubbossa.menuframework.util.ChatUtils;
+import de.cubbossa.menuframework.util.HeadCache;
 import lombok.Getter;
 import lombok.Setter;
 import net.kyori.adventure.platform.bukkit.BukkitAudiences;
@@ -61,8 +65,15 @@ public class GUIHandler {
 	public void enable() {
 		this.audiences = BukkitAudiences.create(plugin);
 
+		Bukkit.getPluginManager().registerEvents(new ViewerRegistry(), plugin);
+		// The head cache requires the profile api of 1.18.1, older servers create heads from their owning player
+		if (HeadCache.isSupported()) {
+			Bukkit.getPluginManager().registerEvents(new HeadCache(), plugin);
+		}
 		new InvMenuHandler();
 		new CustomScoreboardHandler();
+		new AnimationEngine().start();
+		new ScoreboardScheduler().start();
 
 		registerDefaultListeners();
 	}
@@ -71,11 +82,36 @@ public class GUIHandler {
 		if(listener != null) {
 			listener.onServerStop();
 		}
+		if (AnimationEngine.getInstance() != null) {
+			AnimationEngine.getInstance().stop();
+		}
+		if (ScoreboardScheduler.getInstance() != null) {
+			ScoreboardScheduler.getInstance().stop();
+		}
 
 		this.audiences.close();
 		this.audiences = null;
 	}
 
+	/**
+	 * Caches the serializations of {@link ChatUtils#toLegacy(net.kyori.adventure.text.ComponentLike)} and
+	 * {@link ChatUtils#toGson(net.kyori.adventure.text.ComponentLike)}, so that equal components that are created on
+	 * each render, like titles and scoreboard lines, are only serialized once. Changing the size clears both caches.
+	 *
+	 * @param maximumSize The maximum amount of cached serializations per cache or 0 to disable caching.
+	 */
+	public void setSerializerCacheSize(int maximumSize) {
+		ChatUtils.getLegacyCache().setMaximumSize(maximumSize);
+		ChatUtils.getGsonCache().setMaximumSize(maximumSize);
+	}
+
+	/**
+	 * @return The maximum amount of cached serializations per cache, 0 if caching is disabled.
+	 */
+	public int getSerializerCacheSize() {
+		return ChatUtils.getLegacyCache().getMaximumSize();
+	}
+
 	public void registerDefaultListeners() {
 		listener = new InventoryListener();
 		new HotbarListener();
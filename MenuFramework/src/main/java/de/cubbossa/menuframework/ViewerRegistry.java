@@ -0,0 +1,112 @@
+package de.cubbossa.menuframework;
+
+import com.google.common.collect.MapMaker;
+import lombok.Getter;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.logging.Level;
+
+/**
+ * Keeps track of all menus, scoreboards and boss bars that a player is attached to and releases all of them in one pass
+ * once the player quits. Attachments are only weakly referenced, so attaching a viewer never keeps a menu alive.
+ * All methods must be called from the main thread.
+ */
+public class ViewerRegistry implements Listener {
+
+	/**
+	 * Anything that keeps state per viewer.
+	 */
+	public interface Attachment {
+
+		/**
+		 * Removes all state that is kept for the given viewer. Called once the viewer has quit.
+		 *
+		 * @param viewer The uuid of the viewer.
+		 */
+		void releaseViewer(UUID viewer);
+	}
+
+	@Getter
+	private static ViewerRegistry instance;
+
+	private final Map<UUID, Set<Attachment>> attachments = new HashMap<>();
+
+	public ViewerRegistry() {
+		instance = this;
+	}
+
+	/**
+	 * @param viewer     The uuid of the viewer.
+	 * @param attachment The menu, scoreboard or bar that keeps state for the viewer.
+	 */
+	public void attach(UUID viewer, Attachment attachment) {
+		attachments.computeIfAbsent(viewer, uuid -> Collections.newSetFromMap(new MapMaker().weakKeys().makeMap())).add(attachment);
+	}
+
+	/**
+	 * @param viewer     The uuid of the viewer.
+	 * @param attachment The menu, scoreboard or bar that does not keep state for the viewer anymore.
+	 */
+	public void detach(UUID viewer, Attachment attachment) {
+		Set<Attachment> set = attachments.get(viewer);
+		if (set == null) {
+			return;
+		}
+		set.remove(attachment);
+		if (set.isEmpty()) {
+			attachments.remove(viewer);
+		}
+	}
+
+	/**
+	 * Releases all attachments of the viewer.
+	 *
+	 * @param viewer The uuid of the viewer.
+	 */
+	public void release(UUID viewer) {
+		Set<Attachment> set = attachments.remove(viewer);
+		if (set == null) {
+			return;
+		}
+		for (Attachment attachment : new ArrayList<>(set)) {
+			try {
+				attachment.releaseViewer(viewer);
+			} catch (Throwable t) {
+				GUIHandler.getInstance().getLogger().log(Level.SEVERE, "Error occured while releasing viewer " + viewer, t);
+			}
+		}
+		// Releasing might have attached the viewer again, for example by showing the previous scoreboard
+		attachments.remove(viewer);
+	}
+
+	/**
+	 * @param viewer The uuid of the viewer.
+	 * @return All attachments that keep state for the viewer.
+	 */
+	public Collection<Attachment> getAttachments(UUID viewer) {
+		Set<Attachment> set = attachments.get(viewer);
+		return set == null ? Collections.emptySet() : new ArrayList<>(set);
+	}
+
+	/**
+	 * @return The amount of viewers with at least one attachment.
+	 */
+	public int getViewerCount() {
+		return attachments.size();
+	}
+
+	@EventHandler(priority = EventPriority.MONITOR)
+	public void onQuit(PlayerQuitEvent event) {
+		release(event.getPlayer().getUniqueId());
+	}
+}
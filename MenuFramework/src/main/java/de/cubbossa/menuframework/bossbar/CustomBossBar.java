@@ -1,6 +1,11 @@
 package de.cubbossa.menuframework.bossbar;
 
 import de.cubbossa.menuframework.GUIHandler;
+import de.cubbossa.menuframework.ViewerRegistry;
+import de.cubbossa.menuframework.util.Animation;
+import de.cubbossa.menuframework.util.Animations;
+import de.cubbossa.menuframework.util.ChatUtils;
+import lombok.Getter;
 import net.kyori.adventure.text.Component;
 import org.bukkit.Bukkit;
 import org.bukkit.NamespacedKey;
@@ -9,44 +14,179 @@ import org.bukkit.boss.BarStyle;
 import org.bukkit.boss.KeyedBossBar;
 import org.bukkit.entity.Player;
 
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.UUID;
 import java.util.function.Function;
 
-public abstract class CustomBossBar {
+/**
+ * A boss bar with optional animations for its title, progress, color and segments.
+ * <br>
+ * Animations are played by the {@link de.cubbossa.menuframework.util.AnimationEngine} on the main thread, so all bars
+ * are evaluated within the same tick task. Bars are only evaluated while they have viewers and a property is only sent to
+ * the viewers if its value has changed.
+ */
+public class CustomBossBar implements ViewerRegistry.Attachment {
 
-    private KeyedBossBar bossBar;
+    private final KeyedBossBar bossBar;
+    private final int intervals;
+    private final Animation animation;
 
-    private CustomBossBar(String key, String title, double progress, BarColor color, BarStyle style) {
-        this.bossBar = Bukkit.createBossBar(new NamespacedKey(GUIHandler.getInstance().getPlugin(), key), title, color, style);
-        this.bossBar.setProgress(progress);
-        playAnimation();
+    private final Function<Integer, String> textAnimation;
+    private final Function<Integer, Component> componentAnimation;
+    private final Function<Integer, Double> progressAnimation;
+    private final Function<Integer, BarColor> colorAnimation;
+    private final Function<Integer, BarStyle> segmentAnimation;
+
+    private String title;
+    private Component component;
+
+    /**
+     * The amount of property updates that have been sent to the viewers.
+     */
+    @Getter
+    private long sentCount = 0;
+    /**
+     * The amount of property updates that have been skipped because the value did not change.
+     */
+    @Getter
+    private long skippedCount = 0;
+
+    private CustomBossBar(Builder builder) {
+        this.bossBar = Bukkit.createBossBar(new NamespacedKey(GUIHandler.getInstance().getPlugin(), builder.key),
+                builder.text, builder.color, builder.style);
+        this.bossBar.setProgress(builder.progress);
+        this.title = builder.text;
+        this.intervals = builder.intervals;
+        this.textAnimation = builder.textAnimation;
+        this.componentAnimation = builder.componentAnimation;
+        this.progressAnimation = builder.progressAnimation;
+        this.colorAnimation = builder.colorAnimation;
+        this.segmentAnimation = builder.segmentAnimation;
+        this.animation = new Animation(new int[0], builder.ticks, indices -> playAnimation());
     }
 
     public void show(Player player) {
-        if (this.bossBar != null) {
-            this.bossBar.addPlayer(player);
+        bossBar.addPlayer(player);
+        ViewerRegistry.getInstance().attach(player.getUniqueId(), this);
+        if (isAnimated() && !animation.isRunning()) {
+            animation.play();
         }
     }
 
     public void hide(Player player) {
-        if (this.bossBar != null) {
-            this.bossBar.removePlayer(player);
+        bossBar.removePlayer(player);
+        ViewerRegistry.getInstance().detach(player.getUniqueId(), this);
+        if (bossBar.getPlayers().isEmpty()) {
+            animation.stop();
         }
     }
 
     public void hideAll() {
-        if(this.bossBar != null) {
-            for(Player player : bossBar.getPlayers()) {
-                hide(player);
-            }
-         }
+        for (Player player : bossBar.getPlayers()) {
+            hide(player);
+        }
+    }
+
+    @Override
+    public void releaseViewer(UUID viewer) {
+        Player player = Bukkit.getPlayer(viewer);
+        if (player != null) {
+            hide(player);
+        }
     }
 
     protected KeyedBossBar getBossBar() {
         return bossBar;
     }
 
-    protected abstract void playAnimation();
+    /**
+     * @return true if any property of this bar is animated.
+     */
+    public boolean isAnimated() {
+        return textAnimation != null || componentAnimation != null || progressAnimation != null
+                || colorAnimation != null || segmentAnimation != null;
+    }
+
+    /**
+     * @return true if the animations of this bar are being played, which is only the case while it has viewers.
+     */
+    public boolean isAnimationRunning() {
+        return animation.isRunning();
+    }
+
+    /**
+     * Evaluates all animations for the current interval and sends the changed properties.
+     */
+    protected void playAnimation() {
+        if (bossBar.getPlayers().isEmpty()) {
+            animation.stop();
+            return;
+        }
+        int tick = intervals > 0 ? animation.getInterval().get() % intervals : animation.getInterval().get();
+        if (componentAnimation != null) {
+            setTitle(Animations.frame(componentAnimation, tick));
+        } else if (textAnimation != null) {
+            setTitle(Animations.frame(textAnimation, tick));
+        }
+        if (progressAnimation != null) {
+            double progress = Animations.frame(progressAnimation, tick);
+            if (count(bossBar.getProgress() != progress)) {
+                bossBar.setProgress(progress);
+            }
+        }
+        if (colorAnimation != null) {
+            BarColor color = Animations.frame(colorAnimation, tick);
+            if (count(bossBar.getColor() != color)) {
+                bossBar.setColor(color);
+            }
+        }
+        if (segmentAnimation != null) {
+            BarStyle style = Animations.frame(segmentAnimation, tick);
+            if (count(bossBar.getStyle() != style)) {
+                bossBar.setStyle(style);
+            }
+        }
+    }
+
+    /**
+     * Sets the title of this bar if it differs from the current title.
+     *
+     * @param title The new title as component.
+     */
+    public void setTitle(Component title) {
+        // Only serialize components that have changed.
+        if (title.equals(component)) {
+            skippedCount++;
+            return;
+        }
+        component = title;
+        setTitle(ChatUtils.toLegacy(title));
+    }
+
+    /**
+     * Sets the title of this bar if it differs from the current title.
+     *
+     * @param title The new title in legacy format.
+     */
+    public void setTitle(String title) {
+        if (count(!title.equals(this.title))) {
+            this.title = title;
+            bossBar.setTitle(title);
+        }
+    }
+
+    private boolean count(boolean changed) {
+        if (changed) {
+            sentCount++;
+        } else {
+            skippedCount++;
+        }
+        return changed;
+    }
+
+    public void resetMetrics() {
+        sentCount = 0;
+        skippedCount = 0;
+    }
 
     public static class Builder {
 
@@ -67,6 +207,7 @@ public abstract class CustomBossBar {
         private Function<Integer, BarStyle> segmentAnimation;
         private Function<Integer, Double> progressAnimation;
         private Function<Integer, String> textAnimation;
+        private Function<Integer, Component> componentAnimation;
 
         private Builder(String key) {
             this.key = key;
@@ -98,7 +239,7 @@ public abstract class CustomBossBar {
         }
 
         public Builder withText(Component text) {
-            this.text = text.toString(); //TODO
+            this.text = ChatUtils.toLegacy(text);
             return this;
         }
 
@@ -119,11 +260,13 @@ public abstract class CustomBossBar {
 
         public Builder withTextAnimation(Function<Integer, String> textAnimation) {
             this.textAnimation = textAnimation;
+            this.componentAnimation = null;
             return this;
         }
 
         public Builder withComponentAnimation(Function<Integer, Component> textAnimation) {
-            this.textAnimation = integer -> textAnimation.apply(integer).toString(); //TODO parse component
+            this.componentAnimation = textAnimation;
+            this.textAnimation = null;
             return this;
         }
 
@@ -132,33 +275,8 @@ public abstract class CustomBossBar {
             return this;
         }
 
-
         public CustomBossBar build() {
-            return new CustomBossBar(key, text, progress, color, style) {
-                @Override
-                protected void playAnimation() {
-                    AtomicInteger currentTick = new AtomicInteger(0);
-                    Bukkit.getScheduler().runTaskTimerAsynchronously(GUIHandler.getInstance().getPlugin(), () -> {
-                        int tick = currentTick.get();
-                        if(textAnimation != null) {
-                            getBossBar().setTitle(textAnimation.apply(tick));
-                        }
-                        if(progressAnimation != null) {
-                            getBossBar().setProgress(progressAnimation.apply(tick));
-                        }
-                        if(colorAnimation != null) {
-                            getBossBar().setColor(colorAnimation.apply(tick));
-                        }
-                        if(segmentAnimation != null) {
-                            getBossBar().setStyle(segmentAnimation.apply(tick));
-                        }
-                        currentTick.addAndGet(1);
-                        if(currentTick.get() >= intervals) {
-                            currentTick.set(0);
-                        }
-                    }, 0, ticks);
-                }
-            };
+            return new CustomBossBar(this);
         }
     }
 }
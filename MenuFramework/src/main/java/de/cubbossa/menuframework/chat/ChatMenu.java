@@ -13,6 +13,7 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public abstract class ChatMenu<T> implements ComponentLike {
 
@@ -66,11 +67,61 @@ public abstract class ChatMenu<T> implements ComponentLike {
     }
 
     public List<Component> toComponents(int indentation, int page, int menusPerPage) {
-
         List<Component> components = Lists.newArrayList();
-        components.add(indentation(indentation).append(toComponent(message)));
-        subMenus.forEach(subMenu -> components.addAll(subMenu.toComponents(indentation + 1, 0, 1024)));
-        return components.subList(Integer.min(page * menusPerPage, components.size() - 1), Integer.min(page * menusPerPage + menusPerPage, components.size()));
+        render(indentation, page, menusPerPage, components::add);
+        return components;
+    }
+
+    /**
+     * Renders the lines of one page of this menu and its submenus depth first. Submenus that lie completely before the
+     * page are skipped without being rendered and rendering stops once the page is full.
+     *
+     * @param indentation  The indentation of this menu.
+     * @param page         The page to render. Pages after the last page render the last line.
+     * @param menusPerPage The amount of lines per page.
+     * @param consumer     Receives the rendered lines in order.
+     */
+    public void render(int indentation, int page, int menusPerPage, Consumer<Component> consumer) {
+        int lineCount = getLineCount();
+        int from = Integer.min(page * menusPerPage, lineCount - 1);
+        int to = Integer.min(page * menusPerPage + menusPerPage, lineCount);
+        render(indentation, 0, from, to, consumer);
+    }
+
+    /**
+     * @return The amount of lines of this menu and all its submenus. Nothing is rendered to count the lines.
+     */
+    public int getLineCount() {
+        int count = 1;
+        for (ChatMenu<?> subMenu : subMenus) {
+            count += subMenu.getLineCount();
+        }
+        return count;
+    }
+
+    /**
+     * @param offset The index of the first line of this menu.
+     * @return The index of the first line after this menu and its submenus or the end index if rendering has stopped.
+     */
+    private int render(int indentation, int offset, int from, int to, Consumer<Component> consumer) {
+        if (offset >= from && offset < to) {
+            consumer.accept(indentation(indentation).append(toComponent(message)));
+        }
+        offset++;
+        for (ChatMenu<?> subMenu : subMenus) {
+            if (offset >= to) {
+                return to;
+            }
+            if (offset < from) {
+                int lineCount = subMenu.getLineCount();
+                if (offset + lineCount <= from) {
+                    offset += lineCount;
+                    continue;
+                }
+            }
+            offset = subMenu.render(indentation + 1, offset, from, to, consumer);
+        }
+        return offset;
     }
 
     public Component indentation(int ind) {
@@ -85,12 +136,12 @@ public abstract class ChatMenu<T> implements ComponentLike {
 
     public void send(Player player) {
         Audience audience = GUIHandler.getInstance().getAudiences().player(player);
-        toComponents(0, 1024).forEach(audience::sendMessage);
+        render(-1, 0, 1024, audience::sendMessage);
     }
 
     public void send(Player player, int page, int linesPerPage) {
         Audience audience = GUIHandler.getInstance().getAudiences().player(player);
-        toComponents(page, linesPerPage).forEach(audience::sendMessage);
+        render(-1, page, linesPerPage, audience::sendMessage);
     }
 
     @Override
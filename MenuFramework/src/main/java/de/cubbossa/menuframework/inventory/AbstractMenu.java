@@ -1,6 +1,7 @@
 package de.cubbossa.menuframework.inventory;
 
 import de.cubbossa.menuframework.GUIHandler;
+import de.cubbossa.menuframework.ViewerRegistry;
 import de.cubbossa.menuframework.inventory.context.CloseContext;
 import de.cubbossa.menuframework.inventory.context.ContextConsumer;
 import de.cubbossa.menuframework.inventory.context.OpenContext;
@@ -10,13 +11,13 @@ import de.cubbossa.menuframework.inventory.exception.ItemPlaceException;
 import de.cubbossa.menuframework.inventory.exception.MenuHandlerException;
 import de.cubbossa.menuframework.inventory.exception.OpenMenuException;
 import de.cubbossa.menuframework.util.Animation;
+import lombok.AccessLevel;
 import lombok.Getter;
-import org.bukkit.NamespacedKey;
+import lombok.Setter;
+import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.inventory.meta.ItemMeta;
-import org.bukkit.persistence.PersistentDataType;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
@@ -24,20 +25,38 @@ import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 @Getter
-public abstract class AbstractMenu implements Menu {
+public abstract class AbstractMenu implements Menu, ViewerRegistry.Attachment {
 
     protected final SortedMap<Integer, Map<Action<?>, ContextConsumer<? extends TargetContext<?>>>> clickHandler;
+    /**
+     * Mirrors {@link #clickHandler}, so that resolving a click handler of a mutable menu does not box or hash the slot.
+     * The sorted map remains the source for page bounds and templates.
+     */
+    @Getter(AccessLevel.NONE)
+    private final ClickHandlerTable clickHandlerTable;
     protected @Nullable ContextConsumer<? extends TargetContext<?>> fallbackDefaultClickHandler = null;
     protected final Map<Action<?>, ContextConsumer<? extends TargetContext<?>>> defaultClickHandler;
 
     protected final SortedMap<Integer, Supplier<ItemStack>> itemStacks;
     protected final SortedMap<Integer, Consumer<Player>> soundPlayer;
+    /**
+     * Mirrors {@link #soundPlayer} per slot, so that playing the sound of a click does not box the slot.
+     * Slot -1 is stored at index 0 of the negative array.
+     */
+    @Getter(AccessLevel.NONE)
+    private Consumer<Player>[] soundTable;
+    @Getter(AccessLevel.NONE)
+    private Consumer<Player>[] negativeSoundTable;
+    /**
+     * The compiled static items, sounds and click handlers. If set, the menu is frozen and static entries cannot be changed anymore.
+     */
+    protected @Nullable MenuTemplate template = null;
 
     protected final List<MenuPreset<? extends TargetContext<?>>> dynamicProcessors;
     protected final SortedMap<Integer, ItemStack> dynamicItemStacks;
     protected final SortedMap<Integer, ItemStack> dynamicItemStacksOnTop;
-    protected final SortedMap<Integer, Map<Action<?>, ContextConsumer<? extends TargetContext<?>>>> dynamicClickHandler;
-    protected final SortedMap<Integer, Map<Action<?>, ContextConsumer<? extends TargetContext<?>>>> dynamicClickHandlerOnTop;
+    protected final ClickHandlerTable dynamicClickHandler;
+    protected final ClickHandlerTable dynamicClickHandlerOnTop;
 
 
     protected final MenuPreset.PresetApplier applier = new MenuPreset.PresetApplier(this) {
@@ -62,16 +81,12 @@ public abstract class AbstractMenu implements Menu {
 
         @Override
         public <C extends TargetContext<?>> void addClickHandler(int slot, Action<C> action, ContextConsumer<C> clickHandler) {
-            Map<Action<?>, ContextConsumer<? extends TargetContext<?>>> map = dynamicClickHandler.getOrDefault(slot, new HashMap<>());
-            map.put(action, clickHandler);
-            dynamicClickHandler.put(slot, map);
+            dynamicClickHandler.put(slot, action, clickHandler);
         }
 
         @Override
         public <C extends TargetContext<?>> void addClickHandlerOnTop(int slot, Action<C> action, ContextConsumer<C> clickHandler) {
-            Map<Action<?>, ContextConsumer<? extends TargetContext<?>>> map = dynamicClickHandlerOnTop.getOrDefault(slot, new HashMap<>());
-            map.put(action, clickHandler);
-            dynamicClickHandlerOnTop.put(slot, map);
+            dynamicClickHandlerOnTop.put(slot, action, clickHandler);
         }
     };
 
@@ -82,32 +97,127 @@ public abstract class AbstractMenu implements Menu {
     protected final Map<UUID, ViewMode> viewer;
 
     protected final int slotsPerPage;
-    //protected int getCurrentPage() = 0;
-    protected int offset = 0;
 
-    protected Inventory inventory;
+    @Setter
+    protected RenderMode renderMode = RenderMode.FULL;
+
+    /**
+     * If true, every viewer has an own offset and inventory. Otherwise, all viewers share the same view.
+     */
+    @Setter
+    protected boolean perViewerState = false;
+    protected final ViewState sharedView;
+    protected final Map<UUID, ViewState> viewStates;
+    /**
+     * The view state that is currently being rendered or interacted with.
+     */
+    protected ViewState activeView;
+    @Getter(AccessLevel.NONE)
+    private int dynamicEntriesOffset = Integer.MIN_VALUE;
+    @Getter(AccessLevel.NONE)
+    private long slotMask = 0;
+    @Getter(AccessLevel.NONE)
+    private boolean slotMaskComputed = false;
+    // One shared instance, so that the animation engine refreshes all slots that are due in the same tick together
+    @Getter(AccessLevel.NONE)
+    private final Consumer<int[]> animationRefresh = this::refresh;
 
     public AbstractMenu(int slotsPerPage) {
 
         this.itemStacks = new TreeMap<>();
         this.soundPlayer = new TreeMap<>();
+        this.soundTable = new Consumer[slotsPerPage];
+        this.negativeSoundTable = new Consumer[0];
         this.dynamicProcessors = new ArrayList<>();
         this.dynamicItemStacks = new TreeMap<>();
-        this.dynamicClickHandler = new TreeMap<>();
+        this.dynamicClickHandler = new ClickHandlerTable(slotsPerPage);
         this.dynamicItemStacksOnTop = new TreeMap<>();
-        this.dynamicClickHandlerOnTop = new TreeMap<>();
+        this.dynamicClickHandlerOnTop = new ClickHandlerTable(slotsPerPage);
         this.animations = new TreeMap<>();
         this.viewer = new HashMap<>();
         this.slotsPerPage = slotsPerPage;
         this.clickHandler = new TreeMap<>();
+        this.clickHandlerTable = new ClickHandlerTable(slotsPerPage);
         this.defaultClickHandler = new HashMap<>();
         this.openHandlers = new ArrayList<>();
         this.closeHandlers = new ArrayList<>();
+        this.sharedView = new ViewState(slotsPerPage);
+        this.viewStates = new HashMap<>();
+        this.activeView = sharedView;
     }
 
 
     public abstract int[] getSlots();
 
+    public long getSlotMask() {
+        // getSlots() is not available while the subclass is being constructed, so compute the mask on first use.
+        if (!slotMaskComputed) {
+            slotMask = BottomMenu.getMaskFromSlots(getSlots());
+            slotMaskComputed = true;
+        }
+        return slotMask;
+    }
+
+    /**
+     * @param slot The page local slot.
+     * @return true if the slot is part of {@link #getSlots()}.
+     */
+    public boolean isMenuSlot(int slot) {
+        return slot >= 0 && slot < Long.SIZE && (getSlotMask() >> slot & 1) == 1;
+    }
+
+    /**
+     * @param player The player to get the view state for.
+     * @return The view state of the given player or the shared view state if this menu does not keep a state per viewer.
+     */
+    public ViewState getViewState(Player player) {
+        if (!perViewerState) {
+            return sharedView;
+        }
+        return viewStates.computeIfAbsent(player.getUniqueId(), uuid -> new ViewState(slotsPerPage));
+    }
+
+    /**
+     * Makes the view state of the given player the active view state, so that all following page and slot calculations
+     * refer to the view of this player.
+     *
+     * @param player The player to activate the view state for.
+     * @return The activated view state.
+     */
+    protected ViewState activateView(Player player) {
+        activeView = getViewState(player);
+        if (perViewerState && dynamicEntriesOffset != activeView.getOffset()) {
+            try {
+                refreshDynamicItemSuppliers();
+            } catch (ItemPlaceException e) {
+                GUIHandler.getInstance().getExceptionHandler().accept(e);
+            }
+        }
+        return activeView;
+    }
+
+    /**
+     * @return The offset of the active view.
+     */
+    public int getOffset() {
+        return activeView.getOffset();
+    }
+
+    /**
+     * @return The inventory of the active view.
+     */
+    public @Nullable Inventory getInventory() {
+        return activeView.getInventory();
+    }
+
+    /**
+     * @param player The player to get the inventory for.
+     * @return The inventory that the given player currently sees.
+     */
+    public @Nullable Inventory getInventory(Player player) {
+        return getViewState(player).getInventory();
+    }
+
     protected abstract Inventory createInventory(Player player, int page);
 
     protected abstract void openInventory(Player player, Inventory inventory);
@@ -153,7 +263,7 @@ public abstract class AbstractMenu implements Menu {
     }
 
     public void setOffset(Player player, int offset) {
-        this.offset = offset;
+        getViewState(player).setOffset(offset);
         try {
             render(player, true);
         } catch (ItemPlaceException e) {
@@ -162,11 +272,11 @@ public abstract class AbstractMenu implements Menu {
     }
 
     public void addOffset(Player player, int offset) {
-        this.setOffset(player, this.offset + offset);
+        this.setOffset(player, getViewState(player).getOffset() + offset);
     }
 
     public void removeOffset(Player player, int offset) {
-        this.setOffset(player, this.offset - offset);
+        this.setOffset(player, getViewState(player).getOffset() - offset);
     }
 
     public void openSync(Player viewer) {
@@ -183,21 +293,18 @@ public abstract class AbstractMenu implements Menu {
         } catch (ItemPlaceException e) {
             GUIHandler.getInstance().getExceptionHandler().accept(e);
         }
-        openInventory(viewer, inventory);
+        ViewState state = getViewState(viewer);
+        openInventory(viewer, state.getInventory());
 
-        if (this.viewer.isEmpty()) {
-            animations.forEach((integer, animations1) -> {
-                int i = integer - offset;
-                if (i >= 0 && i < slotsPerPage) {
-                    animations1.forEach(Animation::play);
-                }
-            });
-        }
         this.viewer.put(viewer.getUniqueId(), viewMode);
+        ViewerRegistry.getInstance().attach(viewer.getUniqueId(), this);
+        updateAnimations();
 
         if (this.viewer.size() == 1) {
             firstOpen();
         }
+        // openInventory may have replaced the inventory of the view state
+        InvMenuHandler.getInstance().registerMenu(this, viewer, state.getInventory());
 
         OpenContext openContext = new OpenContext(viewer, this);
         for (ContextConsumer<OpenContext> c : openHandlers) {
@@ -211,9 +318,16 @@ public abstract class AbstractMenu implements Menu {
 
     public void render(Player viewer, boolean clear) throws ItemPlaceException {
 
+        ViewState state = getViewState(viewer);
+        activeView = state;
         int page = getCurrentPage();
-        if (inventory == null) {
-            inventory = createInventory(viewer, page);
+        if (state.getInventory() == null) {
+            state.setInventory(createInventory(viewer, page));
+        }
+
+        if (renderMode == RenderMode.DIFF) {
+            renderDiff(viewer, state, clear);
+            return;
         }
 
         if (clear) {
@@ -222,13 +336,32 @@ public abstract class AbstractMenu implements Menu {
 
         refreshDynamicItemSuppliers();
 
+        Inventory inventory = state.getInventory();
         for (int slot : getSlots()) {
             try {
-                ItemStack item = getItemStack(slot + offset);
+                ItemStack item = getItemStack(slot + state.getOffset());
                 if (item == null) {
                     continue;
                 }
-                inventory.setItem(slot, item.clone());
+                inventory.setItem(slot, item);
+
+            } catch (Throwable t) {
+                throw new ItemPlaceException(this, viewer, slot, t);
+            }
+        }
+    }
+
+    private void renderDiff(Player viewer, ViewState state, boolean clear) throws ItemPlaceException {
+        refreshDynamicItemSuppliers();
+
+        Inventory inventory = state.getInventory();
+        for (int slot : getSlots()) {
+            try {
+                ItemStack item = getItemStack(slot + state.getOffset());
+                if (item == null && !clear) {
+                    continue;
+                }
+                state.getSnapshot().write(slot, item, inventory::setItem);
 
             } catch (Throwable t) {
                 throw new ItemPlaceException(this, viewer, slot, t);
@@ -251,11 +384,17 @@ public abstract class AbstractMenu implements Menu {
         if (this.viewer.remove(viewer.getUniqueId()) == null) {
             return;
         }
+        InvMenuHandler.getInstance().unregisterMenu(this, viewer, getViewState(viewer).getInventory());
+        int page = getCurrentPage(viewer);
+        ViewState state = viewStates.remove(viewer.getUniqueId());
+        if (state != null && state == activeView) {
+            activeView = sharedView;
+        }
+        updateAnimations();
         if (this.viewer.size() == 0) {
-            animations.forEach((integer, animations1) -> animations1.forEach(Animation::stop));
             lastClose();
         }
-        CloseContext closeContext = new CloseContext(viewer, this, getCurrentPage());
+        CloseContext closeContext = new CloseContext(viewer, this, page);
         for (ContextConsumer<CloseContext> c : closeHandlers) {
             try {
                 c.accept(closeContext);
@@ -265,6 +404,19 @@ public abstract class AbstractMenu implements Menu {
         }
     }
 
+    @Override
+    public void releaseViewer(UUID viewer) {
+        Player player = Bukkit.getPlayer(viewer);
+        if (player != null && this.viewer.containsKey(viewer)) {
+            handleClose(player);
+        }
+        this.viewer.remove(viewer);
+        ViewState state = viewStates.remove(viewer);
+        if (state != null && state == activeView) {
+            activeView = sharedView;
+        }
+    }
+
     public MenuPreset<? extends TargetContext<?>> addPreset(MenuPreset<? extends TargetContext<?>> menuPreset) {
         dynamicProcessors.add(menuPreset);
         return menuPreset;
@@ -279,40 +431,42 @@ public abstract class AbstractMenu implements Menu {
     }
 
     public void clearContent() {
+        Inventory inventory = activeView.getInventory();
         if (inventory == null) {
             return;
         }
         for (int slot : getSlots()) {
             inventory.setItem(slot, null);
         }
+        activeView.getSnapshot().invalidate();
     }
 
     public ItemStack getItemStack(int slot) {
-        int staticSlot = slot - offset;
+        int staticSlot = slot - activeView.getOffset();
         ItemStack stack = dynamicItemStacksOnTop.get(staticSlot);
         if (stack != null) {
             return tagStack(stack);
         }
-        stack = getStaticItemStack(slot);
+        Supplier<ItemStack> supplier = getStaticItemSupplier(slot);
+        stack = supplier == null ? null : supplier.get();
         if (stack != null) {
-            return tagStack(stack);
+            // Keyed by supplier, so that suppliers that create a new instance on each call reuse their tagged copy
+            return TaggedStackCache.tag(supplier, stack);
         }
         return tagStack(dynamicItemStacks.get(staticSlot));
     }
 
     protected ItemStack getStaticItemStack(int slot) {
-        Supplier<ItemStack> supplier = itemStacks.get(slot);
+        Supplier<ItemStack> supplier = getStaticItemSupplier(slot);
         return supplier == null ? null : supplier.get();
     }
 
+    protected @Nullable Supplier<ItemStack> getStaticItemSupplier(int slot) {
+        return template != null ? template.getItemStack(slot) : itemStacks.get(slot);
+    }
+
     private ItemStack tagStack(@Nullable ItemStack stack) {
-        if (stack == null) {
-            return null;
-        }
-        ItemMeta meta = stack.getItemMeta();
-        meta.getPersistentDataContainer().set(new NamespacedKey(GUIHandler.getInstance().getPlugin(), "prevent_pickup"), PersistentDataType.SHORT, (short) 0);
-        stack.setItemMeta(meta);
-        return stack;
+        return TaggedStackCache.tag(stack);
     }
 
     public void setItem(int slot, ItemStack item) {
@@ -320,26 +474,66 @@ public abstract class AbstractMenu implements Menu {
     }
 
     public void setItem(int slot, Supplier<ItemStack> itemSupplier) {
+        checkMutable();
         itemStacks.put(slot, itemSupplier);
     }
 
     public void removeItem(int... slots) {
+        checkMutable();
         for (int slot : slots) {
-            if (inventory != null) {
-                inventory.setItem(slot, null);
-            }
+            clearSlot(slot);
             itemStacks.remove(slot);
         }
     }
 
+    private void clearSlot(int slot) {
+        for (ViewState state : perViewerState ? viewStates.values() : Collections.singleton(sharedView)) {
+            if (state.getInventory() != null) {
+                state.getInventory().setItem(slot, null);
+            }
+            state.getSnapshot().invalidate(slot);
+        }
+    }
+
     public void refresh(int... slots) {
+        if (!perViewerState) {
+            refreshView(sharedView, slots);
+            return;
+        }
+        ViewState previous = activeView;
+        for (ViewState state : viewStates.values()) {
+            refreshView(state, slots);
+        }
+        activeView = previous;
+    }
+
+    public void refresh(Player viewer, int... slots) {
+        ViewState previous = activeView;
+        refreshView(getViewState(viewer), slots);
+        activeView = previous;
+    }
+
+    private void refreshView(ViewState state, int... slots) {
+        Inventory inventory = state.getInventory();
         if (inventory == null) {
             return;
         }
+        activeView = state;
+        if (perViewerState && dynamicEntriesOffset != state.getOffset()) {
+            try {
+                refreshDynamicItemSuppliers();
+            } catch (ItemPlaceException e) {
+                GUIHandler.getInstance().getExceptionHandler().accept(e);
+            }
+        }
         int page = getCurrentPage();
         for (int slot : slots) {
             int realIndex = page * slotsPerPage + slot;
-            inventory.setItem(slot, getItemStack(realIndex));
+            if (renderMode == RenderMode.DIFF) {
+                state.getSnapshot().write(slot, getItemStack(realIndex), inventory::setItem);
+            } else {
+                inventory.setItem(slot, getItemStack(realIndex));
+            }
         }
     }
 
@@ -348,16 +542,17 @@ public abstract class AbstractMenu implements Menu {
         Player player = context.getPlayer();
         int slot = context.getSlot();
 
-        if (Arrays.stream(getSlots()).noneMatch(value -> value == slot)) {
+        if (!isMenuSlot(slot)) {
             return false;
         }
         if (viewer.containsKey(player.getUniqueId()) && viewer.get(player.getUniqueId()).equals(ViewMode.VIEW)) {
             return true;
         }
 
-        int actualSlot = slot + offset;
-        if (soundPlayer.containsKey(actualSlot)) {
-            soundPlayer.get(actualSlot).accept(context.getPlayer());
+        int actualSlot = slot + activateView(player).getOffset();
+        Consumer<Player> sound = template != null ? template.getSoundPlayer(actualSlot) : getSlotSound(actualSlot);
+        if (sound != null) {
+            sound.accept(context.getPlayer());
         }
 
         ContextConsumer<C> clickHandler = (ContextConsumer<C>) getClickHandler(actualSlot, action);
@@ -376,7 +571,7 @@ public abstract class AbstractMenu implements Menu {
     public ContextConsumer<? extends TargetContext<?>> getClickHandler(int slot, Action<?> action) {
         int fixedSlot = slot % slotsPerPage;
         fixedSlot = fixedSlot < 0 ? fixedSlot + slotsPerPage : fixedSlot;
-        ContextConsumer<? extends TargetContext<?>> result = dynamicClickHandlerOnTop.getOrDefault(fixedSlot, new HashMap<>()).get(action);
+        ContextConsumer<? extends TargetContext<?>> result = dynamicClickHandlerOnTop.get(fixedSlot, action);
         if (result != null) {
             return result;
         }
@@ -384,7 +579,7 @@ public abstract class AbstractMenu implements Menu {
         if (result != null) {
             return result;
         }
-        result = dynamicClickHandler.getOrDefault(fixedSlot, new HashMap<>()).get(action);
+        result = dynamicClickHandler.get(fixedSlot, action);
         if (result != null) {
             return result;
         }
@@ -392,21 +587,47 @@ public abstract class AbstractMenu implements Menu {
     }
 
     protected ContextConsumer<? extends TargetContext<?>> getStaticClickHandler(int slot, Action<?> action) {
-        return clickHandler.getOrDefault(slot, new HashMap<>()).get(action);
+        if (template != null) {
+            return template.getClickHandler(slot, action);
+        }
+        return clickHandlerTable.get(slot, action);
     }
 
     public void setButton(int slot, Button button) {
+        checkMutable();
         if (button.getStackSupplier() != null) {
             setItem(slot, button.getStackSupplier());
         }
         if (button.getSound() != null) {
-            soundPlayer.put(slot, player -> player.playSound(player.getLocation(), button.getSound(), button.getVolume(), button.getPitch()));
+            setSlotSound(slot, player -> player.playSound(player.getLocation(), button.getSound(), button.getVolume(), button.getPitch()));
         }
         if (!button.getClickHandler().isEmpty()) {
             setClickHandler(slot, button.getClickHandler());
         }
     }
 
+    private @Nullable Consumer<Player> getSlotSound(int slot) {
+        if (slot < 0) {
+            return ~slot < negativeSoundTable.length ? negativeSoundTable[~slot] : null;
+        }
+        return slot < soundTable.length ? soundTable[slot] : null;
+    }
+
+    private void setSlotSound(int slot, Consumer<Player> sound) {
+        soundPlayer.put(slot, sound);
+        if (slot < 0) {
+            if (~slot >= negativeSoundTable.length) {
+                negativeSoundTable = Arrays.copyOf(negativeSoundTable, Integer.max(~slot + 1, negativeSoundTable.length * 2));
+            }
+            negativeSoundTable[~slot] = sound;
+        } else {
+            if (slot >= soundTable.length) {
+                soundTable = Arrays.copyOf(soundTable, Integer.max(slot + 1, soundTable.length * 2));
+            }
+            soundTable[slot] = sound;
+        }
+    }
+
     public <C extends TargetContext<?>> void setClickHandler(int slot, Action<C> action, ContextConsumer<C> clickHandler) {
         Map<Action<?>, ContextConsumer<? extends TargetContext<?>>> map = new HashMap<>();
         map.put(action, clickHandler);
@@ -414,9 +635,11 @@ public abstract class AbstractMenu implements Menu {
     }
 
     public void setClickHandler(int slot, Map<Action<?>, ContextConsumer<? extends TargetContext<?>>> clickHandler) {
+        checkMutable();
         Map<Action<?>, ContextConsumer<? extends TargetContext<?>>> map = this.clickHandler.getOrDefault(slot, new HashMap<>());
         map.putAll(clickHandler);
         this.clickHandler.put(slot, map);
+        clickHandlerTable.putAll(slot, clickHandler);
     }
 
     public <C extends TargetContext<?>> void setItemAndClickHandler(int slot, ItemStack item, Action<C> action, ContextConsumer<C> clickHandler) {
@@ -464,36 +687,44 @@ public abstract class AbstractMenu implements Menu {
     }
 
     public void removeClickHandler(int... slots) {
+        checkMutable();
         for (int slot : slots) {
             clickHandler.remove(slot);
+            clickHandlerTable.remove(slot);
         }
     }
 
     public void removeClickHandler(Action<?> action, int... slots) {
+        checkMutable();
         for (int slot : slots) {
             Map<Action<?>, ContextConsumer<? extends TargetContext<?>>> map = clickHandler.get(slot);
             if (map != null) {
                 map.remove(action);
             }
+            clickHandlerTable.remove(slot, action);
         }
     }
 
     public void removeItemAndClickHandler(int... slots) {
+        checkMutable();
         for (int slot : slots) {
-            inventory.setItem(slot, null);
+            clearSlot(slot);
             itemStacks.remove(slot);
             clickHandler.remove(slot);
+            clickHandlerTable.remove(slot);
         }
     }
 
     public void removeItemAndClickHandler(Action<?> action, int... slots) {
+        checkMutable();
         for (int slot : slots) {
-            inventory.setItem(slot, null);
+            clearSlot(slot);
             itemStacks.remove(slot);
             Map<Action<?>, ContextConsumer<? extends TargetContext<?>>> map = clickHandler.get(slot);
             if (map != null) {
                 map.remove(action);
             }
+            clickHandlerTable.remove(slot, action);
         }
     }
 
@@ -501,8 +732,45 @@ public abstract class AbstractMenu implements Menu {
         defaultClickHandler.remove(action);
     }
 
+    /**
+     * Compiles all static items, sounds and click handlers of this menu into an immutable {@link MenuTemplate}.
+     * Afterwards, static entries are looked up from the template and cannot be changed anymore. Presets keep working.
+     *
+     * @return The compiled template, which can be shared with other menus of the same page size.
+     */
+    public MenuTemplate freeze() {
+        template = MenuTemplate.compile(slotsPerPage, itemStacks, soundPlayer, clickHandler);
+        return template;
+    }
+
+    /**
+     * Uses a compiled template for all static items, sounds and click handlers of this menu.
+     *
+     * @param template The template to use, which must have been compiled for the same amount of slots per page.
+     */
+    public void setTemplate(MenuTemplate template) {
+        if (template.getSlotsPerPage() != slotsPerPage) {
+            throw new IllegalArgumentException("The template was compiled for " + template.getSlotsPerPage() + " slots per page, but this menu has " + slotsPerPage + ".");
+        }
+        this.template = template;
+    }
+
+    /**
+     * @return true if this menu uses a compiled template and static entries cannot be changed anymore.
+     */
+    public boolean isFrozen() {
+        return template != null;
+    }
+
+    private void checkMutable() {
+        if (template != null) {
+            throw new IllegalStateException("Cannot modify the static entries of a frozen menu.");
+        }
+    }
+
     public boolean isThisInventory(Inventory inventory, Player player) {
-        return this.inventory != null && this.inventory.equals(inventory);
+        ViewState state = perViewerState ? viewStates.get(player.getUniqueId()) : sharedView;
+        return state != null && state.getInventory() != null && state.getInventory().equals(inventory);
     }
 
     public int getPageCount() {
@@ -510,6 +778,7 @@ public abstract class AbstractMenu implements Menu {
     }
 
     public void refreshDynamicItemSuppliers() throws ItemPlaceException {
+        dynamicEntriesOffset = activeView.getOffset();
         dynamicItemStacks.clear();
         dynamicClickHandler.clear();
         dynamicItemStacksOnTop.clear();
@@ -525,12 +794,17 @@ public abstract class AbstractMenu implements Menu {
     }
 
     public int getCurrentPage() {
-        return (int) Math.floor((double) offset / slotsPerPage);
+        return (int) Math.floor((double) activeView.getOffset() / slotsPerPage);
+    }
+
+    public int getCurrentPage(Player player) {
+        return (int) Math.floor((double) getViewState(player).getOffset() / slotsPerPage);
     }
 
     public int getMinPage() {
         int minPage = 0;
-        int smallestSlot = Integer.min(itemStacks.isEmpty() ? 0 : itemStacks.firstKey(), clickHandler.isEmpty() ? 0 : clickHandler.firstKey());
+        int smallestSlot = template != null ? template.getFirstSlot() :
+                Integer.min(itemStacks.isEmpty() ? 0 : itemStacks.firstKey(), clickHandler.isEmpty() ? 0 : clickHandler.firstKey());
         boolean negative = smallestSlot < 0;
         while (negative && smallestSlot < -slotsPerPage || !negative && smallestSlot > slotsPerPage) {
             if (negative) {
@@ -546,7 +820,8 @@ public abstract class AbstractMenu implements Menu {
 
     public int getMaxPage() {
         int maxPage = 0;
-        int highestSlot = Integer.max(itemStacks.isEmpty() ? 0 : itemStacks.lastKey(), clickHandler.isEmpty() ? 0 : clickHandler.lastKey());
+        int highestSlot = template != null ? template.getLastSlot() :
+                Integer.max(itemStacks.isEmpty() ? 0 : itemStacks.lastKey(), clickHandler.isEmpty() ? 0 : clickHandler.lastKey());
         while (highestSlot > slotsPerPage) {
             maxPage++;
             highestSlot -= slotsPerPage;
@@ -555,27 +830,68 @@ public abstract class AbstractMenu implements Menu {
     }
 
     protected int applyOffset(int slot) {
-        return slot + offset;
+        return slot + activeView.getOffset();
     }
 
     public Animation playEndlessAnimation(int ticks, int... slots) {
         return playAnimation(-1, ticks, slots);
     }
 
+    /**
+     * Plays an animation that refreshes the given slots. The slots are page local, every viewer sees the animation on
+     * the page that they are currently viewing. The animation only runs while the menu is being viewed.
+     *
+     * @param intervals The amount of refreshes before the animation stops, -1 for endless.
+     * @param ticks     The ticks between two refreshes.
+     * @param slots     The page local slots to refresh.
+     * @return The animation instance.
+     * @throws IllegalArgumentException if one of the slots is not on the page, meaning negative or not lower than the
+     *                                  amount of slots per page.
+     */
     public Animation playAnimation(int intervals, int ticks, int... slots) {
-        Animation animation = new Animation(slots, intervals, ticks, this::refresh);
+        for (int slot : slots) {
+            if (slot < 0 || slot >= slotsPerPage) {
+                throw new IllegalArgumentException("Animation slots are page local and must be within 0 and "
+                        + (slotsPerPage - 1) + ": " + slot);
+            }
+        }
+        Animation animation = new Animation(slots, intervals, ticks, animationRefresh);
 
         Arrays.stream(slots).forEach(value -> {
             Collection<Animation> animations = this.animations.getOrDefault(value, new HashSet<>());
             animations.add(animation);
             this.animations.put(value, animations);
         });
-        if (inventory != null && viewer.size() > 0) {
+        if (isAnimationVisible()) {
             animation.play();
         }
         return animation;
     }
 
+    /**
+     * Plays all animations while the menu is being viewed and pauses them once the last viewer has left.
+     * Paused animations keep their interval and continue where they stopped once the menu is viewed again.
+     */
+    protected void updateAnimations() {
+        if (animations.isEmpty()) {
+            return;
+        }
+        boolean visible = isAnimationVisible();
+        Set<Animation> all = new HashSet<>();
+        animations.values().forEach(all::addAll);
+        for (Animation animation : all) {
+            if (visible && !animation.isRunning() && !animation.isFinished()) {
+                animation.play();
+            } else if (!visible && animation.isRunning()) {
+                animation.stop();
+            }
+        }
+    }
+
+    private boolean isAnimationVisible() {
+        return !viewer.isEmpty();
+    }
+
     public Collection<Animation> getAnimations(int... slots) {
         HashSet<Animation> anims = new HashSet<>();
         for (int slot : slots) {
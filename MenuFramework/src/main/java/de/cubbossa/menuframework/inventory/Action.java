@@ -2,12 +2,18 @@ package de.cubbossa.menuframework.inventory;
 
 import de.cubbossa.menuframework.inventory.context.ClickContext;
 import de.cubbossa.menuframework.inventory.context.TargetContext;
+import lombok.Getter;
 import org.bukkit.block.Block;
 import org.bukkit.entity.Entity;
 import org.bukkit.event.inventory.ClickType;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 public class Action<C extends TargetContext<?>> {
 
+    // Must be initialized before the constant actions below.
+    private static final AtomicInteger ORDINAL_COUNTER = new AtomicInteger();
+
     public static final Action<ClickContext> LEFT = new Action<>();
     public static final Action<ClickContext> SHIFT_INSERT = new Action<>();
     public static final Action<ClickContext> SHIFT_LEFT = new Action<>();
@@ -64,8 +70,22 @@ public class Action<C extends TargetContext<?>> {
     public static Action<TargetContext<Integer>> LEFT_CLICK_CLIENT_ENTITY = new Action<>();
     public static Action<TargetContext<Integer>> RIGHT_CLICK_CLIENT_ENTITY = new Action<>();
 
+    /**
+     * A unique index that is assigned on construction. Click handler tables use it to store handlers in arrays
+     * instead of hash maps. Ordinals are dense, so custom actions can be stored the same way as the default ones.
+     */
+    @Getter
+    private final int ordinal;
+
     public Action() {
+        this.ordinal = ORDINAL_COUNTER.getAndIncrement();
+    }
 
+    /**
+     * @return The amount of actions that have been created so far. All ordinals are smaller than this value.
+     */
+    public static int count() {
+        return ORDINAL_COUNTER.get();
     }
 
     public static Action<?>[] inventoryValues = new Action<?>[]{
@@ -6,7 +6,7 @@ import java.util.List;
 public interface BottomMenu extends Menu {
 
 	/**
-	 * sum of (slot²) for each menu slot
+	 * sum of (2^slot) for each menu slot
 	 * You may want to use {@link #getMaskFromSlots(int[])}
 	 *
 	 * @return A binary mask where every bit means that the corresponding slot is part of this layered menu.
@@ -35,7 +35,7 @@ public interface BottomMenu extends Menu {
 	static long getMaskFromSlots(int[] slots) {
 		long mask = 0;
 		for (int slot : slots) {
-			mask += Math.pow(2, slot);
+			mask |= 1L << slot;
 		}
 		return mask;
 	}
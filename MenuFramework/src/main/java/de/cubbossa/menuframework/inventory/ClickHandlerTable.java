@@ -0,0 +1,116 @@
+package de.cubbossa.menuframework.inventory;
+
+import de.cubbossa.menuframework.inventory.context.ContextConsumer;
+import de.cubbossa.menuframework.inventory.context.TargetContext;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Stores click handlers in a two dimensional array that is indexed by slot and {@link Action#getOrdinal()}.
+ * Resolving a click handler does not hash, box or allocate anything. Both dimensions grow on demand.
+ * Negative slots, which menus use for slots in front of their first page, are stored in a second array.
+ */
+public class ClickHandlerTable {
+
+    private static final ContextConsumer<?>[] EMPTY_ROW = new ContextConsumer<?>[0];
+
+    private ContextConsumer<?>[][] handlers;
+    /**
+     * The click handlers of negative slots, slot -1 is stored at index 0.
+     */
+    private ContextConsumer<?>[][] negativeHandlers = new ContextConsumer<?>[0][];
+
+    public ClickHandlerTable(int size) {
+        this.handlers = new ContextConsumer<?>[size][];
+    }
+
+    private ContextConsumer<?>[] row(int slot) {
+        if (slot < 0) {
+            return ~slot < negativeHandlers.length ? negativeHandlers[~slot] : null;
+        }
+        return slot < handlers.length ? handlers[slot] : null;
+    }
+
+    /**
+     * @param slot   The slot index.
+     * @param action The action to resolve.
+     * @return The click handler for the given slot and action or null if none was set.
+     */
+    @SuppressWarnings("unchecked")
+    public @Nullable ContextConsumer<? extends TargetContext<?>> get(int slot, Action<?> action) {
+        ContextConsumer<?>[] row = row(slot);
+        int ordinal = action.getOrdinal();
+        if (row == null || ordinal >= row.length) {
+            return null;
+        }
+        return (ContextConsumer<? extends TargetContext<?>>) row[ordinal];
+    }
+
+    /**
+     * @param slot The slot index.
+     * @return true if at least one click handler was set for the given slot.
+     */
+    public boolean contains(int slot) {
+        return row(slot) != null;
+    }
+
+    /**
+     * Sets the click handler for the given slot and action.
+     */
+    public void put(int slot, Action<?> action, ContextConsumer<? extends TargetContext<?>> clickHandler) {
+        ContextConsumer<?>[][] rows;
+        int index;
+        if (slot < 0) {
+            index = ~slot;
+            if (index >= negativeHandlers.length) {
+                negativeHandlers = Arrays.copyOf(negativeHandlers, Integer.max(index + 1, negativeHandlers.length * 2));
+            }
+            rows = negativeHandlers;
+        } else {
+            index = slot;
+            if (index >= handlers.length) {
+                handlers = Arrays.copyOf(handlers, Integer.max(index + 1, handlers.length * 2));
+            }
+            rows = handlers;
+        }
+        ContextConsumer<?>[] row = rows[index];
+        int ordinal = action.getOrdinal();
+        if (row == null || ordinal >= row.length) {
+            row = Arrays.copyOf(row == null ? EMPTY_ROW : row, Integer.max(ordinal + 1, Action.count()));
+            rows[index] = row;
+        }
+        row[ordinal] = clickHandler;
+    }
+
+    public void putAll(int slot, Map<Action<?>, ContextConsumer<? extends TargetContext<?>>> clickHandler) {
+        clickHandler.forEach((action, handler) -> put(slot, action, handler));
+    }
+
+    public void remove(int slot) {
+        if (slot < 0) {
+            if (~slot < negativeHandlers.length) {
+                negativeHandlers[~slot] = null;
+            }
+        } else if (slot < handlers.length) {
+            handlers[slot] = null;
+        }
+    }
+
+    /**
+     * Removes the click handler of one action. The slot stays contained, even if it has no click handlers left.
+     */
+    public void remove(int slot, Action<?> action) {
+        ContextConsumer<?>[] row = row(slot);
+        int ordinal = action.getOrdinal();
+        if (row != null && ordinal < row.length) {
+            row[ordinal] = null;
+        }
+    }
+
+    public void clear() {
+        Arrays.fill(handlers, null);
+        Arrays.fill(negativeHandlers, null);
+    }
+}
@@ -1,13 +1,16 @@
 package de.cubbossa.menuframework.inventory;
 
+import de.cubbossa.menuframework.ViewerRegistry;
 import de.cubbossa.menuframework.inventory.listener.MenuListener;
 import lombok.Getter;
 import org.bukkit.entity.Player;
+import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
 
-public class InvMenuHandler {
+public class InvMenuHandler implements ViewerRegistry.Attachment {
 
     private static final long INVENTORY_MASK = (long) Math.pow(2, 37) - 1;
 
@@ -67,6 +70,7 @@ public class InvMenuHandler {
             inventory[slot] = player.getInventory().getItem(slot);
         }
         coveredInventories.put(player.getUniqueId(), inventory);
+        ViewerRegistry.getInstance().attach(player.getUniqueId(), this);
 
         // Insert menu into stack
         navigationBottomMap.put(player.getUniqueId(), stack);
@@ -106,6 +110,9 @@ public class InvMenuHandler {
         // after all menus restore actual inventory if mask is still not 0
 
         Stack<BottomMenu> menuStack = navigationBottomMap.get(player.getUniqueId());
+        if (menuStack == null) {
+            return;
+        }
 
         int index = menuStack.indexOf(bottomMenu);
         if (index == -1) {
@@ -140,6 +147,13 @@ public class InvMenuHandler {
         menuStack.remove(bottomMenu);
     }
 
+    @Override
+    public void releaseViewer(UUID viewer) {
+        navigationBottomMap.remove(viewer);
+        coveredInventories.remove(viewer);
+        openMenus.remove(viewer);
+    }
+
     public BottomMenu getMenuAtSlot(Player player, int slot) {
         Stack<BottomMenu> stack = navigationBottomMap.get(player.getUniqueId());
         if (stack == null || stack.isEmpty()) {
@@ -162,6 +176,14 @@ public class InvMenuHandler {
         listeners.forEach(listener -> listener.unregister(menu));
     }
 
+    public void registerMenu(Menu menu, Player viewer, @Nullable Inventory inventory) {
+        listeners.forEach(listener -> listener.register(menu, viewer, inventory));
+    }
+
+    public void unregisterMenu(Menu menu, Player viewer, @Nullable Inventory inventory) {
+        listeners.forEach(listener -> listener.unregister(menu, viewer, inventory));
+    }
+
     public void registerListener(MenuListener listener) {
         listeners.add(listener);
     }
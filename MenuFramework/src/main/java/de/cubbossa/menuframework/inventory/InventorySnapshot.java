@@ -0,0 +1,101 @@
+package de.cubbossa.menuframework.inventory;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Remembers the content that was last written to each slot of an inventory. Renderers can pass every slot through
+ * {@link #write(int, Object, SlotWriter)} and only the slots whose content differs from the last written content
+ * will actually be written to the inventory.
+ *
+ * @param <T> The type of the slot content, usually {@link org.bukkit.inventory.ItemStack}.
+ */
+public class InventorySnapshot<T> {
+
+    @FunctionalInterface
+    public interface SlotWriter<T> {
+
+        /**
+         * Writes the content to the actual inventory slot.
+         *
+         * @param slot    The inventory slot.
+         * @param content The new content of the slot or null to clear the slot.
+         */
+        void write(int slot, @Nullable T content);
+    }
+
+    private Object[] sent;
+    private boolean[] known;
+
+    /**
+     * @param size The expected amount of slots. The snapshot grows if larger slots are written.
+     */
+    public InventorySnapshot(int size) {
+        this.sent = new Object[size];
+        this.known = new boolean[size];
+    }
+
+    /**
+     * Writes the content to the given slot if it differs from the content that was last written to this slot.
+     *
+     * @param slot    The inventory slot to write.
+     * @param content The content to write or null to clear the slot.
+     * @param writer  The writer that applies the content to the actual inventory.
+     * @return true if the content changed and the writer was called.
+     */
+    public boolean write(int slot, @Nullable T content, SlotWriter<T> writer) {
+        ensureCapacity(slot);
+        if (known[slot] && Objects.equals(sent[slot], content)) {
+            return false;
+        }
+        writer.write(slot, content);
+        sent[slot] = content;
+        known[slot] = true;
+        return true;
+    }
+
+    /**
+     * @param slot The slot to get the content for.
+     * @return The content that was last written to the given slot or null if unknown or empty.
+     */
+    @SuppressWarnings("unchecked")
+    public @Nullable T get(int slot) {
+        return slot < 0 || slot >= sent.length ? null : (T) sent[slot];
+    }
+
+    /**
+     * Forgets all written content, so that the next write to each slot will always reach the inventory.
+     * Use this if the inventory was recreated or modified from outside.
+     */
+    public void invalidate() {
+        Arrays.fill(sent, null);
+        Arrays.fill(known, false);
+    }
+
+    /**
+     * Forgets the written content of the given slots.
+     *
+     * @param slots The slots to invalidate.
+     */
+    public void invalidate(int... slots) {
+        for (int slot : slots) {
+            if (slot >= 0 && slot < sent.length) {
+                sent[slot] = null;
+                known[slot] = false;
+            }
+        }
+    }
+
+    private void ensureCapacity(int slot) {
+        if (slot < 0) {
+            throw new IndexOutOfBoundsException("Slot must not be negative: " + slot);
+        }
+        if (slot >= sent.length) {
+            int size = Integer.max(slot + 1, sent.length * 2);
+            sent = Arrays.copyOf(sent, size);
+            known = Arrays.copyOf(known, size);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package de.cubbossa.menuframework.inventory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Provides the elements of a {@link de.cubbossa.menuframework.inventory.implementations.ListMenu} page by page, so that
+ * only the elements of the visible page have to be loaded and rendered.
+ *
+ * @param <T> The type of the list elements.
+ */
+public interface ListMenuDataSource<T> {
+
+    /**
+     * @return The total amount of elements.
+     */
+    int size();
+
+    /**
+     * Loads a range of elements.
+     *
+     * @param offset The index of the first element to load.
+     * @param limit  The maximum amount of elements to load.
+     * @return The elements from offset to offset + limit. May contain fewer elements if the end of the list has been reached.
+     */
+    List<T> fetch(int offset, int limit);
+
+    /**
+     * Creates a data source that reads from a collection. Changes of the collection are visible once the menu is
+     * refreshed.
+     *
+     * @param collection The collection to read from.
+     * @param <T>        The type of the list elements.
+     * @return A data source view on the collection.
+     */
+    static <T> ListMenuDataSource<T> of(Collection<T> collection) {
+        return new ListMenuDataSource<>() {
+            @Override
+            public int size() {
+                return collection.size();
+            }
+
+            @Override
+            public List<T> fetch(int offset, int limit) {
+                return slice(collection, offset, limit);
+            }
+        };
+    }
+
+    /**
+     * @return A copy of the elements from offset to offset + limit of the collection. Lists are sliced directly, other
+     * collections are iterated up to the end of the range.
+     */
+    static <T> List<T> slice(Collection<T> collection, int offset, int limit) {
+        int size = collection.size();
+        if (offset < 0 || offset >= size || limit <= 0) {
+            return new ArrayList<>();
+        }
+        int to = Integer.min(offset + limit, size);
+        if (collection instanceof List) {
+            return new ArrayList<>(((List<T>) collection).subList(offset, to));
+        }
+        List<T> result = new ArrayList<>(to - offset);
+        Iterator<T> iterator = collection.iterator();
+        for (int i = 0; i < to && iterator.hasNext(); i++) {
+            T element = iterator.next();
+            if (i >= offset) {
+                result.add(element);
+            }
+        }
+        return result;
+    }
+}
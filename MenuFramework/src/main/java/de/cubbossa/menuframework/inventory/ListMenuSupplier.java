@@ -3,10 +3,28 @@ package de.cubbossa.menuframework.inventory;
 import org.bukkit.inventory.ItemStack;
 
 import java.util.Collection;
+import java.util.List;
 
-public interface ListMenuSupplier<T> {
+/**
+ * Supplies the elements of a list menu and how to display them.
+ * Suppliers for large or remote collections should override {@link #size()} and {@link #fetch(int, int)} to only load
+ * the elements of the visible page.
+ *
+ * @param <T> The type of the list elements.
+ */
+public interface ListMenuSupplier<T> extends ListMenuDataSource<T> {
 
     Collection<T> getElements();
 
     ItemStack getDisplayItem(T object);
+
+    @Override
+    default int size() {
+        return getElements().size();
+    }
+
+    @Override
+    default List<T> fetch(int offset, int limit) {
+        return ListMenuDataSource.slice(getElements(), offset, limit);
+    }
 }
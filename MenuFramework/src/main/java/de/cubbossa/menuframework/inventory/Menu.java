@@ -43,6 +43,14 @@ public interface Menu {
         VIEW
     }
 
+    /**
+     * FULL writes every slot of the inventory on each render, DIFF only writes slots whose item changed since the last render.
+     */
+    enum RenderMode {
+        FULL,
+        DIFF
+    }
+
     /**
      * @return A map of all players that currently see this menu and their view mode.
      */
@@ -53,6 +61,11 @@ public interface Menu {
      */
     int[] getSlots();
 
+    /**
+     * @return A binary mask where every bit means that the corresponding slot of {@link #getSlots()} is part of this menu.
+     */
+    long getSlotMask();
+
     /**
      * @return The amount of slots that form one page of this menu.
      */
@@ -164,6 +177,19 @@ public interface Menu {
      */
     void render(Player viewer, boolean clear) throws ItemPlaceException;
 
+    /**
+     * @return The way this menu writes items into its inventory.
+     */
+    RenderMode getRenderMode();
+
+    /**
+     * Sets the way this menu writes items into its inventory. Use {@link RenderMode#DIFF} to only send slots to the
+     * viewer that changed since the last render.
+     *
+     * @param renderMode The render mode to use.
+     */
+    void setRenderMode(RenderMode renderMode);
+
     /**
      * Close this menu for a player.
      *
@@ -207,6 +233,14 @@ public interface Menu {
      */
     void refresh(int... slots);
 
+    /**
+     * Refreshes the itemstack at certain slots of the inventory that the given viewer sees.
+     *
+     * @param viewer the viewer to refresh the slots for
+     * @param slots  the slots to refresh
+     */
+    void refresh(Player viewer, int... slots);
+
     /**
      * Refreshes all dynamic ItemStacks, generated by MenuPresets.
      */
@@ -245,7 +279,8 @@ public interface Menu {
      * way, menus are rendered.
      *
      * @param slot The slot to get the itemstack from
-     * @return The itemstack of the menu at the given slot. This does not return the actual item in the inventory but the stored item instance.
+     * @return The itemstack of the menu at the given slot. This does not return the actual item in the inventory but a shared tagged
+     * instance of the stored item. Clone it before modifying it.
      */
     ItemStack getItemStack(int slot);
 
@@ -437,6 +472,12 @@ public interface Menu {
      */
     int getCurrentPage();
 
+    /**
+     * @param player The viewer to get the current page for.
+     * @return The page that the given viewer currently sees. Equals {@link #getCurrentPage()} if all viewers share one view.
+     */
+    int getCurrentPage(Player player);
+
     /**
      * @return The amount of filled pages for this menu. (abs(minPage) + abs(maxPage))
      */
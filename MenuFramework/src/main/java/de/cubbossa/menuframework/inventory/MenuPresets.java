@@ -8,6 +8,7 @@ import de.cubbossa.menuframework.inventory.implementations.BottomInventoryMenu;
 import de.cubbossa.menuframework.inventory.implementations.InventoryMenu;
 import de.cubbossa.menuframework.inventory.implementations.ListMenu;
 import de.cubbossa.menuframework.util.Animation;
+import de.cubbossa.menuframework.util.FrameRing;
 import de.cubbossa.menuframework.util.ItemStackUtils;
 import net.kyori.adventure.identity.Identity;
 import net.kyori.adventure.text.Component;
@@ -41,6 +42,7 @@ public class MenuPresets {
     public static ItemStack DOWN_DISABLED = ItemStackUtils.createItemStack(Material.MAP, Component.text("Down", NamedTextColor.GRAY).decoration(TextDecoration.ITALIC, false), null);
     public static ItemStack RIGHT_DISABLED = ItemStackUtils.createItemStack(Material.MAP, Component.text("Next", NamedTextColor.GRAY).decoration(TextDecoration.ITALIC, false), null);
     public static ItemStack LEFT_DISABLED = ItemStackUtils.createItemStack(Material.MAP, Component.text("Previous", NamedTextColor.GRAY).decoration(TextDecoration.ITALIC, false), null);
+    public static ItemStack LOADING = ItemStackUtils.createItemStack(Material.GRAY_STAINED_GLASS_PANE, Component.text("Loading...", NamedTextColor.GRAY).decoration(TextDecoration.ITALIC, false), null);
 
     public static ListMenuSupplier<Player> PLAYER_LIST_SUPPLIER = new ListMenuSupplier<Player>() {
         @Override
@@ -71,7 +73,10 @@ public class MenuPresets {
      * @param page  the page to fill
      */
     public static void fill(Menu menu, ItemStack stack, int page) {
-        Arrays.stream(menu.getSlots()).map(operand -> operand + page * menu.getSlotsPerPage()).forEach(value -> menu.setItem(value, stack));
+        int offset = page * menu.getSlotsPerPage();
+        for (long mask = menu.getSlotMask(); mask != 0; mask &= mask - 1) {
+            menu.setItem(Long.numberOfTrailingZeros(mask) + offset, stack);
+        }
     }
 
     /**
@@ -258,14 +263,14 @@ public class MenuPresets {
             // handle clicking
             for (Action<?> action : actions) {
                 applier.addClickHandlerOnTop(lSlot, action, targetContext -> {
-                    if (otherMenu.getCurrentPage() > otherMenu.getMinPage()) {
+                    if (otherMenu.getCurrentPage(targetContext.getPlayer()) > otherMenu.getMinPage()) {
                         otherMenu.setPreviousPage(targetContext.getPlayer());
                         menu.refreshDynamicItemSuppliers();
                         menu.refresh(menu.getSlots());
                     }
                 });
                 applier.addClickHandlerOnTop(lSlot, action, targetContext -> {
-                    if (otherMenu.getCurrentPage() < otherMenu.getMaxPage()) {
+                    if (otherMenu.getCurrentPage(targetContext.getPlayer()) < otherMenu.getMaxPage()) {
                         otherMenu.setNextPage(targetContext.getPlayer());
                         menu.refreshDynamicItemSuppliers();
                         menu.refresh(menu.getSlots());
@@ -321,7 +326,11 @@ public class MenuPresets {
      * @return an instance of the {@link MenuPreset} to register it on a menu.
      */
     public static MenuPreset<?> fill(ItemStack stack) {
-        return applier -> Arrays.stream(applier.getMenu().getSlots()).forEach(value -> applier.addItem(value, stack));
+        return applier -> {
+            for (long mask = applier.getMenu().getSlotMask(); mask != 0; mask &= mask - 1) {
+                applier.addItem(Long.numberOfTrailingZeros(mask), stack);
+            }
+        };
     }
 
     /**
@@ -432,31 +441,26 @@ public class MenuPresets {
         if (supplier instanceof ListMenuManagerSupplier) {
             ListMenuManagerSupplier<T> manager = (ListMenuManagerSupplier<T>) supplier;
 
-            for (T object : supplier.getElements()) {
-                listMenu.addListEntry(Button.builder()
-                        .withItemStack(manager.getDisplayItem(object))
-                        .withClickHandler(action, c -> {
-                            clickHandler.accept(new TargetContext<>(c.getPlayer(), c.getMenu(), c.getSlot(), (Action<? extends TargetContext<T>>) c.getAction(), c.isCancelled(), object));
-                        })
-                        .withClickHandler(Action.MIDDLE, clickContext -> {
-                            manager.duplicateElementFromMenu(object);
-                            listMenu.refresh(listMenu.getListSlots());
-                        })
-                        .withClickHandler(Action.RIGHT, clickContext -> {
-                            manager.deleteFromMenu(object);
-                            listMenu.refresh(listMenu.getListSlots());
-                        }));
-            }
+            listMenu.setListSource(supplier, object -> Button.builder()
+                    .withItemStack(manager.getDisplayItem(object))
+                    .withClickHandler(action, c -> {
+                        clickHandler.accept(new TargetContext<>(c.getPlayer(), c.getMenu(), c.getSlot(), (Action<? extends TargetContext<T>>) c.getAction(), c.isCancelled(), object));
+                    })
+                    .withClickHandler(Action.MIDDLE, clickContext -> {
+                        manager.duplicateElementFromMenu(object);
+                        listMenu.refresh(listMenu.getListSlots());
+                    })
+                    .withClickHandler(Action.RIGHT, clickContext -> {
+                        manager.deleteFromMenu(object);
+                        listMenu.refresh(listMenu.getListSlots());
+                    }));
         } else {
 
-            for (T object : supplier.getElements()) {
-                listMenu.addListEntry(Button.builder()
-                        .withItemStack(supplier.getDisplayItem(object))
-                        .withClickHandler(action, c -> {
-                            clickHandler.accept(new TargetContext<>(c.getPlayer(), c.getMenu(), c.getSlot(), (Action<? extends TargetContext<T>>) c.getAction(), c.isCancelled(), object));
-                            clickHandler.accept(new TargetContext<>(c.getPlayer(), c.getMenu(), c.getSlot(), (Action<? extends TargetContext<T>>) c.getAction(), c.isCancelled(), object));
-                        }));
-            }
+            listMenu.setListSource(supplier, object -> Button.builder()
+                    .withItemStack(supplier.getDisplayItem(object))
+                    .withClickHandler(action, c -> {
+                        clickHandler.accept(new TargetContext<>(c.getPlayer(), c.getMenu(), c.getSlot(), (Action<? extends TargetContext<T>>) c.getAction(), c.isCancelled(), object));
+                    }));
         }
         return listMenu;
     }
@@ -509,9 +513,9 @@ public class MenuPresets {
         }
         if (recipes.size() > 1) {
             Animation anim = workbench.playEndlessAnimation(animationSpeed, IntStream.range(1, 10).toArray());
-            for (int i = 1; i < 10; i++) {
-                final int slot = i;
-                workbench.setItem(i, () -> animationMap[slot - 1][anim.getInterval().get() % recipes.size()]);
+            for (int slot = 1; slot < 10; slot++) {
+                FrameRing<ItemStack> frames = FrameRing.of(animationMap[slot - 1]);
+                workbench.setItem(slot, () -> frames.get(anim.getInterval().get()));
             }
         } else {
             for (int slot = 1; slot < 10; slot++) {
@@ -557,7 +561,8 @@ public class MenuPresets {
         }
         if (recipes.size() > 1) {
             Animation animation = furnace.playEndlessAnimation(animationSpeed, inputSlot);
-            furnace.setItem(inputSlot, () -> animationMap[animation.getInterval().get() % recipes.size()]);
+            FrameRing<ItemStack> frames = FrameRing.of(animationMap);
+            furnace.setItem(inputSlot, () -> frames.get(animation.getInterval().get()));
         } else {
             furnace.setItem(inputSlot, animationMap[0]);
         }
@@ -0,0 +1,118 @@
+package de.cubbossa.menuframework.inventory;
+
+import de.cubbossa.menuframework.inventory.context.ContextConsumer;
+import de.cubbossa.menuframework.inventory.context.TargetContext;
+import lombok.Getter;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * An immutable, compiled form of the static items, sounds and click handlers of a menu.
+ * Instead of sorted maps, all entries are stored in flat arrays that are indexed by the slot relative to the first
+ * page that contains an entry. Lookups are therefore constant time and don't box the slot. Click handlers are
+ * additionally indexed by {@link Action#getOrdinal()}, see {@link ClickHandlerTable}.
+ * <br>
+ * Templates are created with {@link AbstractMenu#freeze()} and can be shared between multiple menu instances with
+ * {@link AbstractMenu#setTemplate(MenuTemplate)}.
+ */
+public class MenuTemplate {
+
+    @Getter
+    private final int slotsPerPage;
+    /**
+     * The absolute slot that is stored at index 0. Always the first slot of a page.
+     */
+    private final int baseSlot;
+    /**
+     * The smallest slot that contains an item or a click handler, 0 if smaller slots are empty.
+     */
+    @Getter
+    private final int firstSlot;
+    /**
+     * The largest slot that contains an item or a click handler, 0 if larger slots are empty.
+     */
+    @Getter
+    private final int lastSlot;
+
+    private final Supplier<ItemStack>[] itemStacks;
+    private final Consumer<Player>[] soundPlayer;
+    private final ClickHandlerTable clickHandler;
+
+    @SuppressWarnings("unchecked")
+    private MenuTemplate(int slotsPerPage, int firstSlot, int lastSlot, int lowestSlot, int highestSlot) {
+        this.slotsPerPage = slotsPerPage;
+        this.firstSlot = firstSlot;
+        this.lastSlot = lastSlot;
+        this.baseSlot = Math.floorDiv(lowestSlot, slotsPerPage) * slotsPerPage;
+        int size = (Math.floorDiv(highestSlot, slotsPerPage) + 1) * slotsPerPage - baseSlot;
+        this.itemStacks = new Supplier[size];
+        this.soundPlayer = new Consumer[size];
+        this.clickHandler = new ClickHandlerTable(size);
+    }
+
+    /**
+     * Compiles the given slot maps into a template.
+     *
+     * @param slotsPerPage The amount of slots per page of the menu.
+     * @param itemStacks   The item suppliers per absolute slot.
+     * @param soundPlayer  The sound players per absolute slot.
+     * @param clickHandler The click handlers per absolute slot.
+     * @return The compiled template.
+     */
+    public static MenuTemplate compile(int slotsPerPage,
+                                       SortedMap<Integer, Supplier<ItemStack>> itemStacks,
+                                       SortedMap<Integer, Consumer<Player>> soundPlayer,
+                                       SortedMap<Integer, Map<Action<?>, ContextConsumer<? extends TargetContext<?>>>> clickHandler) {
+        if (slotsPerPage <= 0) {
+            throw new IllegalArgumentException("A menu template requires at least one slot per page.");
+        }
+        int firstSlot = Integer.min(itemStacks.isEmpty() ? 0 : itemStacks.firstKey(), clickHandler.isEmpty() ? 0 : clickHandler.firstKey());
+        int lastSlot = Integer.max(itemStacks.isEmpty() ? 0 : itemStacks.lastKey(), clickHandler.isEmpty() ? 0 : clickHandler.lastKey());
+        int lowestSlot = soundPlayer.isEmpty() ? firstSlot : Integer.min(firstSlot, soundPlayer.firstKey());
+        int highestSlot = soundPlayer.isEmpty() ? lastSlot : Integer.max(lastSlot, soundPlayer.lastKey());
+
+        MenuTemplate template = new MenuTemplate(slotsPerPage, firstSlot, lastSlot, lowestSlot, highestSlot);
+        itemStacks.forEach((slot, supplier) -> template.itemStacks[slot - template.baseSlot] = supplier);
+        soundPlayer.forEach((slot, sound) -> template.soundPlayer[slot - template.baseSlot] = sound);
+        clickHandler.forEach((slot, map) -> template.clickHandler.putAll(slot - template.baseSlot, map));
+        return template;
+    }
+
+    private int index(int slot) {
+        int index = slot - baseSlot;
+        return index < 0 || index >= itemStacks.length ? -1 : index;
+    }
+
+    /**
+     * @param slot The absolute slot.
+     * @return The item supplier at the given slot or null if none was set.
+     */
+    public @Nullable Supplier<ItemStack> getItemStack(int slot) {
+        int index = index(slot);
+        return index == -1 ? null : itemStacks[index];
+    }
+
+    /**
+     * @param slot The absolute slot.
+     * @return The sound player at the given slot or null if none was set.
+     */
+    public @Nullable Consumer<Player> getSoundPlayer(int slot) {
+        int index = index(slot);
+        return index == -1 ? null : soundPlayer[index];
+    }
+
+    /**
+     * @param slot   The absolute slot.
+     * @param action The action to get the click handler for.
+     * @return The click handler for the given slot and action or null if none was set.
+     */
+    public @Nullable ContextConsumer<? extends TargetContext<?>> getClickHandler(int slot, Action<?> action) {
+        return clickHandler.get(slot - baseSlot, action);
+    }
+}
@@ -0,0 +1,328 @@
+package de.cubbossa.menuframework.inventory;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * A list that notifies listeners about every insert, remove, move and update, so that list menus can patch only the
+ * slots that changed instead of rendering whole pages.
+ * <br>
+ * Elements are stored in a randomized balanced tree that is ordered by position, so that positional access, insertion
+ * and removal, as well as removing an element or looking up its index, take O(log n). Elements are tracked by identity,
+ * each element instance can only be contained once.
+ * Listeners are called on the thread that modifies the list, which should be the main thread if the list is bound to
+ * a menu.
+ *
+ * @param <T> The type of the list elements.
+ */
+public class ObservableListModel<T> implements ListMenuDataSource<T> {
+
+    public interface Listener<T> {
+
+        default void inserted(int index, T element) {
+        }
+
+        default void removed(int index, T element) {
+        }
+
+        default void moved(int from, int to, T element) {
+        }
+
+        default void updated(int index, T element) {
+        }
+
+        default void cleared() {
+        }
+    }
+
+    private static class Node<T> {
+        private T value;
+        private final int priority;
+        private int size = 1;
+        private Node<T> left;
+        private Node<T> right;
+        private Node<T> parent;
+
+        private Node(T value, int priority) {
+            this.value = value;
+            this.priority = priority;
+        }
+    }
+
+    private final Random random = new Random();
+    private final Map<T, Node<T>> nodes = new IdentityHashMap<>();
+    private final List<Listener<T>> listeners = new ArrayList<>();
+    private Node<T> root;
+
+    public void addListener(Listener<T> listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Listener<T> listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * @return The amount of registered listeners.
+     */
+    public int getListenerCount() {
+        return listeners.size();
+    }
+
+    @Override
+    public int size() {
+        return size(root);
+    }
+
+    public boolean isEmpty() {
+        return root == null;
+    }
+
+    public boolean contains(T element) {
+        return nodes.containsKey(element);
+    }
+
+    /**
+     * @param index The position of the element.
+     * @return The element at the given position.
+     * @throws IndexOutOfBoundsException if the index is not within 0 and {@link #size()}.
+     */
+    public T get(int index) {
+        return node(index).value;
+    }
+
+    /**
+     * @param element The element to look up.
+     * @return The position of the element or -1 if the element is not contained.
+     */
+    public int indexOf(T element) {
+        Node<T> node = nodes.get(element);
+        return node == null ? -1 : indexOf(node);
+    }
+
+    @Override
+    public List<T> fetch(int offset, int limit) {
+        int to = Integer.min(offset + limit, size());
+        List<T> result = new ArrayList<>(Integer.max(to - offset, 0));
+        for (int i = Integer.max(offset, 0); i < to; i++) {
+            result.add(get(i));
+        }
+        return result;
+    }
+
+    public void add(T element) {
+        add(size(), element);
+    }
+
+    /**
+     * Inserts an element at a position and shifts all following elements.
+     *
+     * @param index   The position to insert the element at.
+     * @param element The element to insert.
+     * @throws IllegalArgumentException if the element is already contained.
+     */
+    public void add(int index, T element) {
+        if (index < 0 || index > size()) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size());
+        }
+        if (nodes.containsKey(element)) {
+            throw new IllegalArgumentException("Element is already contained in this list.");
+        }
+        Node<T> node = new Node<>(element, random.nextInt());
+        nodes.put(element, node);
+        insert(index, node);
+        listeners.forEach(l -> l.inserted(index, element));
+    }
+
+    /**
+     * @param index The position of the element to remove.
+     * @return The removed element.
+     */
+    public T remove(int index) {
+        Node<T> node = node(index);
+        detach(index);
+        nodes.remove(node.value);
+        listeners.forEach(l -> l.removed(index, node.value));
+        return node.value;
+    }
+
+    /**
+     * @param element The element to remove.
+     * @return true if the element was contained.
+     */
+    public boolean remove(T element) {
+        Node<T> node = nodes.get(element);
+        if (node == null) {
+            return false;
+        }
+        remove(indexOf(node));
+        return true;
+    }
+
+    /**
+     * Replaces the element at a position.
+     *
+     * @param index   The position of the element to replace.
+     * @param element The new element.
+     * @return The replaced element.
+     */
+    public T set(int index, T element) {
+        Node<T> node = node(index);
+        T previous = node.value;
+        if (previous != element) {
+            if (nodes.containsKey(element)) {
+                throw new IllegalArgumentException("Element is already contained in this list.");
+            }
+            nodes.remove(previous);
+            nodes.put(element, node);
+            node.value = element;
+        }
+        listeners.forEach(l -> l.updated(index, element));
+        return previous;
+    }
+
+    /**
+     * Notifies all listeners that an element has changed, for example so that a menu renders its new display item.
+     *
+     * @param element The changed element.
+     * @return true if the element is contained.
+     */
+    public boolean update(T element) {
+        Node<T> node = nodes.get(element);
+        if (node == null) {
+            return false;
+        }
+        int index = indexOf(node);
+        listeners.forEach(l -> l.updated(index, element));
+        return true;
+    }
+
+    /**
+     * Moves an element to another position.
+     *
+     * @param from The current position of the element.
+     * @param to   The new position of the element after it has been moved.
+     */
+    public void move(int from, int to) {
+        if (to < 0 || to >= size()) {
+            throw new IndexOutOfBoundsException("Index " + to + " out of bounds for size " + size());
+        }
+        Node<T> node = node(from);
+        if (from == to) {
+            return;
+        }
+        detach(from);
+        node.left = null;
+        node.right = null;
+        node.size = 1;
+        insert(to, node);
+        listeners.forEach(l -> l.moved(from, to, node.value));
+    }
+
+    public void clear() {
+        root = null;
+        nodes.clear();
+        listeners.forEach(Listener::cleared);
+    }
+
+    private Node<T> node(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size());
+        }
+        Node<T> node = root;
+        while (true) {
+            int leftSize = size(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index == leftSize) {
+                return node;
+            } else {
+                index -= leftSize + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    private int indexOf(Node<T> node) {
+        int index = size(node.left);
+        while (node.parent != null) {
+            if (node.parent.right == node) {
+                index += size(node.parent.left) + 1;
+            }
+            node = node.parent;
+        }
+        return index;
+    }
+
+    private void insert(int index, Node<T> node) {
+        Node<T>[] parts = split(root, index);
+        setRoot(merge(merge(parts[0], node), parts[1]));
+    }
+
+    private void detach(int index) {
+        Node<T>[] parts = split(root, index);
+        Node<T>[] rest = split(parts[1], 1);
+        setRoot(merge(parts[0], rest[1]));
+    }
+
+    private void setRoot(Node<T> node) {
+        root = node;
+        if (root != null) {
+            root.parent = null;
+        }
+    }
+
+    private static int size(Node<?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static <T> void update(Node<T> node) {
+        node.size = 1 + size(node.left) + size(node.right);
+        if (node.left != null) {
+            node.left.parent = node;
+        }
+        if (node.right != null) {
+            node.right.parent = node;
+        }
+    }
+
+    private static <T> Node<T> merge(Node<T> a, Node<T> b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        if (a.priority > b.priority) {
+            a.right = merge(a.right, b);
+            update(a);
+            return a;
+        }
+        b.left = merge(a, b.left);
+        update(b);
+        return b;
+    }
+
+    /**
+     * @return The first count elements and the remaining elements of the tree.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> Node<T>[] split(Node<T> node, int count) {
+        if (node == null) {
+            return new Node[]{null, null};
+        }
+        if (size(node.left) >= count) {
+            Node<T>[] parts = split(node.left, count);
+            node.left = parts[1];
+            update(node);
+            return new Node[]{parts[0], node};
+        }
+        Node<T>[] parts = split(node.right, count - size(node.left) - 1);
+        node.right = parts[0];
+        update(node);
+        return new Node[]{node, parts[1]};
+    }
+}
@@ -0,0 +1,275 @@
+package de.cubbossa.menuframework.inventory;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * A filtered and sorted view on one backing list that can be used as {@link ListMenuDataSource}.
+ * <br>
+ * The names of all elements are split into lower case tokens, which are kept in a sorted token index. An element
+ * matches a search query if every token of the query is the prefix of one of its tokens. Results of a query are
+ * kept, so that a query that extends the previous query, like a new keystroke in a search prompt, only narrows down the
+ * previous results instead of searching the whole list again.
+ * <br>
+ * Changing the query, filter or order does not move the viewers of a menu to another page. Call
+ * {@link de.cubbossa.menuframework.inventory.implementations.ListMenu#refreshList()} afterwards to update the visible
+ * slots. If the backing list is modified, call {@link #invalidate()} to rebuild the index on the next access.
+ * All methods are synchronized, so the source can be used with an asynchronous list menu.
+ *
+ * @param <T> The type of the list elements.
+ */
+public class SearchableListSource<T> implements ListMenuDataSource<T> {
+
+    private static final int[] EMPTY = new int[0];
+
+    private static class IntList {
+        private int[] values = new int[4];
+        private int size = 0;
+
+        private void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+
+    private final List<T> elements;
+    private final Function<T, String> nameFunction;
+    private @Nullable Comparator<? super T> comparator;
+    private @Nullable Predicate<? super T> filter;
+    private String query = "";
+
+    // The index, elements and tokens are stored by their rank in the sorted order
+    private boolean indexed = false;
+    private Object[] sorted;
+    private String[][] tokens;
+    private NavigableMap<String, int[]> postings;
+
+    // Ranks of all elements that match the query, and of those that also pass the filter
+    private @Nullable String resultQuery;
+    private int[] queryRanks = EMPTY;
+    private int[] resultRanks = EMPTY;
+    private boolean resultValid = false;
+
+    /**
+     * @param elements     The backing list. Modifications require a call to {@link #invalidate()}.
+     * @param nameFunction Provides the plain text name of an element that is searched.
+     */
+    public SearchableListSource(List<T> elements, Function<T, String> nameFunction) {
+        this.elements = elements;
+        this.nameFunction = nameFunction;
+    }
+
+    /**
+     * @param query The search query. Every token of the query has to be the prefix of a token of a matching name.
+     */
+    public synchronized void setQuery(@Nullable String query) {
+        query = query == null ? "" : query.toLowerCase(Locale.ROOT);
+        if (!query.equals(this.query)) {
+            this.query = query;
+            resultValid = false;
+        }
+    }
+
+    public synchronized String getQuery() {
+        return query;
+    }
+
+    /**
+     * @param filter A filter that all results have to pass, for example a category, or null to show all matches.
+     */
+    public synchronized void setFilter(@Nullable Predicate<? super T> filter) {
+        this.filter = filter;
+        resultValid = false;
+    }
+
+    /**
+     * @param comparator The order of the results or null to keep the order of the backing list.
+     */
+    public synchronized void setComparator(@Nullable Comparator<? super T> comparator) {
+        this.comparator = comparator;
+        invalidate();
+    }
+
+    /**
+     * Rebuilds the index on the next access. Must be called after the backing list or the names of elements have changed.
+     */
+    public synchronized void invalidate() {
+        indexed = false;
+        resultValid = false;
+        resultQuery = null;
+    }
+
+    @Override
+    public synchronized int size() {
+        return getResultRanks().length;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public synchronized List<T> fetch(int offset, int limit) {
+        int[] ranks = getResultRanks();
+        if (offset < 0 || offset >= ranks.length || limit <= 0) {
+            return new ArrayList<>();
+        }
+        int to = Integer.min(offset + limit, ranks.length);
+        List<T> result = new ArrayList<>(to - offset);
+        for (int i = offset; i < to; i++) {
+            result.add((T) sorted[ranks[i]]);
+        }
+        return result;
+    }
+
+    private int[] getResultRanks() {
+        if (!indexed) {
+            buildIndex();
+        }
+        if (resultValid) {
+            return resultRanks;
+        }
+        queryRanks = search(query);
+        resultQuery = query;
+        resultRanks = filter == null ? queryRanks : applyFilter(queryRanks);
+        resultValid = true;
+        return resultRanks;
+    }
+
+    @SuppressWarnings("unchecked")
+    private int[] applyFilter(int[] ranks) {
+        int[] result = new int[ranks.length];
+        int size = 0;
+        for (int rank : ranks) {
+            if (filter.test((T) sorted[rank])) {
+                result[size++] = rank;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    private int[] search(String query) {
+        String[] queryTokens = tokenize(query);
+        if (queryTokens.length == 0) {
+            int[] all = new int[sorted.length];
+            for (int i = 0; i < all.length; i++) {
+                all[i] = i;
+            }
+            return all;
+        }
+        // A query that extends the previous query can only match a subset of the previous results
+        if (resultQuery != null && !resultQuery.isBlank() && query.startsWith(resultQuery)) {
+            return narrow(queryRanks, queryTokens);
+        }
+        // Look up the longest token, it usually has the fewest matches, and check the other tokens on its matches
+        String longest = queryTokens[0];
+        for (String token : queryTokens) {
+            if (token.length() > longest.length()) {
+                longest = token;
+            }
+        }
+        return narrow(lookup(longest), queryTokens);
+    }
+
+    /**
+     * @return The ascending ranks of all elements with a token that starts with the prefix.
+     */
+    private int[] lookup(String prefix) {
+        Collection<int[]> matches = postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values();
+        if (matches.isEmpty()) {
+            return EMPTY;
+        }
+        if (matches.size() == 1) {
+            return matches.iterator().next();
+        }
+        BitSet ranks = new BitSet(sorted.length);
+        for (int[] posting : matches) {
+            for (int rank : posting) {
+                ranks.set(rank);
+            }
+        }
+        return ranks.stream().toArray();
+    }
+
+    private int[] narrow(int[] ranks, String[] queryTokens) {
+        int[] result = new int[ranks.length];
+        int size = 0;
+        for (int rank : ranks) {
+            if (matches(tokens[rank], queryTokens)) {
+                result[size++] = rank;
+            }
+        }
+        return size == ranks.length ? ranks : Arrays.copyOf(result, size);
+    }
+
+    private boolean matches(String[] elementTokens, String[] queryTokens) {
+        outer:
+        for (String queryToken : queryTokens) {
+            for (String elementToken : elementTokens) {
+                if (elementToken.startsWith(queryToken)) {
+                    continue outer;
+                }
+            }
+            return false;
+        }
+        return true;
+    }
+
+    private void buildIndex() {
+        List<T> order = new ArrayList<>(elements);
+        if (comparator != null) {
+            order.sort(comparator);
+        }
+        sorted = order.toArray();
+        tokens = new String[sorted.length][];
+        Map<String, IntList> lists = new HashMap<>();
+        for (int rank = 0; rank < order.size(); rank++) {
+            String[] elementTokens = tokenize(nameFunction.apply(order.get(rank)));
+            tokens[rank] = elementTokens;
+            for (String token : elementTokens) {
+                // Ranks are added in ascending order, so each list stays sorted
+                IntList list = lists.computeIfAbsent(token, t -> new IntList());
+                if (list.size == 0 || list.values[list.size - 1] != rank) {
+                    list.add(rank);
+                }
+            }
+        }
+        TreeMap<String, int[]> postings = new TreeMap<>();
+        lists.forEach((token, list) -> postings.put(token, Arrays.copyOf(list.values, list.size)));
+        this.postings = postings;
+        indexed = true;
+        resultValid = false;
+        resultQuery = null;
+    }
+
+    private static String[] tokenize(@Nullable String name) {
+        if (name == null) {
+            return new String[0];
+        }
+        String lower = name.toLowerCase(Locale.ROOT);
+        List<String> tokens = new ArrayList<>(4);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean letter = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (letter && start < 0) {
+                start = i;
+            } else if (!letter && start >= 0) {
+                tokens.add(lower.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens.toArray(new String[0]);
+    }
+}
@@ -0,0 +1,125 @@
+package de.cubbossa.menuframework.inventory;
+
+import com.google.common.collect.MapMaker;
+import de.cubbossa.menuframework.GUIHandler;
+import org.bukkit.NamespacedKey;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.persistence.PersistentDataType;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Menu items are tagged with a persistent data entry, so that they cannot be picked up from a menu. Writing
+ * the tag requires an expensive ItemMeta round trip, therefore the tagged copy of each source item is cached.
+ * <br>
+ * Tagged copies are looked up by the supplier of the source item or by the source item itself, keys are compared by
+ * identity and only weakly referenced. A cached copy is reused as long as the source equals the item it was tagged from:
+ * <ul>
+ *     <li>Constant items like {@link MenuPresets#FILLER_LIGHT} are copied once, so that changes of the item in place
+ *     are detected, and are then reused by all menus.</li>
+ *     <li>Suppliers that create a new instance on each call keep their last instance without copying it. An equal new
+ *     instance reuses the tagged copy, a different one is tagged again.</li>
+ * </ul>
+ */
+public class TaggedStackCache {
+
+    private static final Map<Object, Entry> CACHE = new MapMaker().weakKeys().makeMap();
+    private static NamespacedKey preventPickupKey;
+
+    private static class Entry {
+        // Either a copy of the source or the last new instance of a supplier
+        private ItemStack snapshot;
+        private boolean copy;
+        private ItemStack tagged;
+
+        private boolean matches(ItemStack source) {
+            // An instance that is returned again may have been modified in place, so it cannot be compared with itself
+            return (copy || snapshot != source) && snapshot.equals(source);
+        }
+    }
+
+    /**
+     * @return The key of the persistent data entry that marks an item as menu item.
+     */
+    public static NamespacedKey getPreventPickupKey() {
+        if (preventPickupKey == null) {
+            preventPickupKey = new NamespacedKey(GUIHandler.getInstance().getPlugin(), "prevent_pickup");
+        }
+        return preventPickupKey;
+    }
+
+    /**
+     * Returns a tagged copy of the given item. The copy is shared and must not be modified.
+     *
+     * @param source The item to tag.
+     * @return The tagged copy or null if the source was null.
+     */
+    public static @Nullable ItemStack tag(@Nullable ItemStack source) {
+        return tag((Object) source, source);
+    }
+
+    /**
+     * Returns a tagged copy of an item that has been created by the given supplier. The copy is shared and must not be
+     * modified.
+     *
+     * @param supplier The supplier that created the item.
+     * @param source   The item to tag.
+     * @return The tagged copy or null if the source was null.
+     */
+    public static @Nullable ItemStack tag(Supplier<ItemStack> supplier, @Nullable ItemStack source) {
+        return tag((Object) supplier, source);
+    }
+
+    private static @Nullable ItemStack tag(Object key, @Nullable ItemStack source) {
+        if (source == null) {
+            return null;
+        }
+        Entry entry = CACHE.get(key);
+        if (entry != null && entry.matches(source)) {
+            return entry.tagged;
+        }
+        ItemStack tagged = source.clone();
+        ItemMeta meta = tagged.getItemMeta();
+        if (meta != null) {
+            meta.getPersistentDataContainer().set(getPreventPickupKey(), PersistentDataType.SHORT, (short) 0);
+            tagged.setItemMeta(meta);
+        }
+        boolean reused = key == source || entry != null && entry.snapshot == source;
+        if (entry == null) {
+            entry = new Entry();
+            CACHE.put(key, entry);
+        }
+        entry.snapshot = reused ? source.clone() : source;
+        entry.copy = reused;
+        entry.tagged = tagged;
+        return tagged;
+    }
+
+    /**
+     * Removes the tagged copy of an item. Modified items are tagged again on their next render, use this to release the copy early.
+     *
+     * @param source The modified source item.
+     */
+    public static void invalidate(ItemStack source) {
+        CACHE.remove(source);
+    }
+
+    /**
+     * Removes the tagged copy of the items of a supplier.
+     *
+     * @param supplier The supplier of the items.
+     */
+    public static void invalidate(Supplier<ItemStack> supplier) {
+        CACHE.remove(supplier);
+    }
+
+    /**
+     * Removes all tagged copies.
+     */
+    public static void invalidateAll() {
+        CACHE.clear();
+    }
+}
@@ -1,6 +1,7 @@
 package de.cubbossa.menuframework.inventory;
 
 import de.cubbossa.menuframework.GUIHandler;
+import de.cubbossa.menuframework.ViewerRegistry;
 import de.cubbossa.menuframework.util.ChatUtils;
 import de.cubbossa.menuframework.util.InventoryUpdate;
 import lombok.Getter;
@@ -13,6 +14,7 @@ import org.jetbrains.annotations.Nullable;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
 import java.util.TreeMap;
 import java.util.UUID;
 import java.util.function.Supplier;
@@ -69,6 +71,13 @@ public abstract class TopInventoryMenu extends AbstractMenu implements TopMenu {
     @Override
     public void setPrevious(Player player, TopMenu previous) {
         this.previous.put(player.getUniqueId(), previous);
+        ViewerRegistry.getInstance().attach(player.getUniqueId(), this);
+    }
+
+    @Override
+    public void releaseViewer(UUID viewer) {
+        super.releaseViewer(viewer);
+        previous.remove(viewer);
     }
 
     @Override
@@ -105,8 +114,17 @@ public abstract class TopInventoryMenu extends AbstractMenu implements TopMenu {
 
     @Override
     public void setPage(Player player, int page) {
+        Component previousTitle = getTitle(getCurrentPage(player));
         super.setPage(player, page);
-        updateCurrentInventoryTitle(getTitle(page));
+        // Sending a new title reopens the inventory, so skip it if both pages have the same title
+        if (previousTitle.equals(getTitle(page))) {
+            return;
+        }
+        if (isPerViewerState()) {
+            InventoryUpdate.updateInventory(GUIHandler.getInstance().getPlugin(), player, ChatUtils.toLegacy(getTitle(page)));
+        } else {
+            updateCurrentInventoryTitle(getTitle(page), page);
+        }
     }
 
     public Component getTitle(int page) {
@@ -115,26 +133,25 @@ public abstract class TopInventoryMenu extends AbstractMenu implements TopMenu {
 
     public void updateTitle(ComponentLike title) {
         this.title = title.asComponent();
-        if (!pageTitles.containsKey(getCurrentPage())) {
-            updateCurrentInventoryTitle(title);
-        }
+        String name = ChatUtils.toLegacy(title);
+        viewer.keySet().stream().map(Bukkit::getPlayer).filter(Objects::nonNull)
+                .filter(player -> !pageTitles.containsKey(getCurrentPage(player)))
+                .forEach(player -> InventoryUpdate.updateInventory(GUIHandler.getInstance().getPlugin(), player, name));
     }
 
     public void updateTitle(ComponentLike title, int... pages) {
-        int currentPage = getCurrentPage();
         for (int page : pages) {
             pageTitles.put(page, title.asComponent());
-            if (currentPage == page) {
-                updateCurrentInventoryTitle(title);
-            }
+            updateCurrentInventoryTitle(title, page);
         }
     }
 
-    private void updateCurrentInventoryTitle(ComponentLike title) {
+    private void updateCurrentInventoryTitle(ComponentLike title, int page) {
 
         String name = ChatUtils.toLegacy(title);
-        viewer.keySet().stream().map(Bukkit::getPlayer).forEach(player ->
-                InventoryUpdate.updateInventory(GUIHandler.getInstance().getPlugin(), player, name));
+        viewer.keySet().stream().map(Bukkit::getPlayer).filter(Objects::nonNull)
+                .filter(player -> getCurrentPage(player) == page)
+                .forEach(player -> InventoryUpdate.updateInventory(GUIHandler.getInstance().getPlugin(), player, name));
     }
 
     @Override
@@ -0,0 +1,35 @@
+package de.cubbossa.menuframework.inventory;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Holds everything that belongs to one view of a menu: the current offset, the inventory that is being rendered
+ * and the items that were last written into it. Menus either share one view state between all viewers or keep
+ * one view state per viewer, see {@link AbstractMenu#setPerViewerState(boolean)}.
+ */
+@Getter
+public class ViewState {
+
+    @Setter
+    private int offset = 0;
+    private @Nullable Inventory inventory;
+    private final InventorySnapshot<ItemStack> snapshot;
+
+    public ViewState(int slotsPerPage) {
+        this.snapshot = new InventorySnapshot<>(slotsPerPage);
+    }
+
+    /**
+     * Sets the inventory of this view and forgets all items that were written into the previous inventory.
+     *
+     * @param inventory The new inventory instance or null to drop the current inventory.
+     */
+    public void setInventory(@Nullable Inventory inventory) {
+        this.inventory = inventory;
+        this.snapshot.invalidate();
+    }
+}
@@ -6,6 +6,7 @@ import de.cubbossa.menuframework.inventory.context.ClickContext;
 import de.cubbossa.menuframework.inventory.context.ContextConsumer;
 import de.cubbossa.menuframework.inventory.context.TargetContext;
 import de.cubbossa.menuframework.util.ChatUtils;
+import de.cubbossa.menuframework.util.Debouncer;
 import lombok.Getter;
 import lombok.Setter;
 import net.kyori.adventure.text.ComponentLike;
@@ -19,7 +20,9 @@ import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
 
+import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 
 public class AnvilMenu extends TopInventoryMenu {
 
@@ -47,8 +50,20 @@ public class AnvilMenu extends TopInventoryMenu {
     @Setter
     private int xpCosts = 0;
 
+    /**
+     * Coalesces {@link #WRITE} events of each viewer. Set a delay with {@link #setWriteDebounceTicks(int)} to only pass the
+     * latest text to the click handlers once the player stopped typing. Also exposes the amount of dropped events and
+     * the latency between keystroke and handler.
+     */
+    @Getter
+    private final Debouncer<UUID, String> writeDebouncer = new Debouncer<>(0);
+
+    /**
+     * The id of the last created anvil container.
+     */
     @Getter
     private int containerId;
+    private final Map<UUID, Integer> containerIds = new HashMap<>();
 
     public AnvilMenu(ComponentLike title, String startText) {
         super(title, 3);
@@ -75,6 +90,7 @@ public class AnvilMenu extends TopInventoryMenu {
         Inventory inventory = WRAPPER.toBukkitInventory(container);
 
         containerId = WRAPPER.getNextContainerId(player, container);
+        containerIds.put(player.getUniqueId(), containerId);
         WRAPPER.sendPacketOpenWindow(player, containerId, title);
         WRAPPER.setActiveContainer(player, container);
         WRAPPER.setActiveContainerId(container, containerId);
@@ -83,11 +99,41 @@ public class AnvilMenu extends TopInventoryMenu {
         return inventory;
     }
 
+    /**
+     * @param player The player to get the container id for.
+     * @return The id of the anvil container that has been opened for the given player.
+     */
+    public int getContainerId(Player player) {
+        return containerIds.getOrDefault(player.getUniqueId(), containerId);
+    }
+
+    /**
+     * @param ticks The amount of ticks to wait for further input before calling the {@link #WRITE} handler. 0 calls it on every keystroke.
+     */
+    public void setWriteDebounceTicks(int ticks) {
+        writeDebouncer.setDelayTicks(ticks);
+    }
+
+    /**
+     * Handlers of {@link #WRITE} that start asynchronous work, like a database query, can check this before applying
+     * their results to skip results for text that has already been changed.
+     *
+     * @param context The context of the {@link #WRITE} handler.
+     * @return true if the player has written another text in the meantime.
+     */
+    public boolean isOutdated(TargetContext<String> context) {
+        return writeDebouncer.isOutdated(context.getPlayer().getUniqueId(), context.getTarget());
+    }
+
     @Override
     public <C extends TargetContext<?>> boolean handleInteract(Action<C> action, C context) {
+        if (action.equals(WRITE)) {
+            writeDebouncer.submit(context.getPlayer().getUniqueId(), (String) context.getTarget(), text -> super.handleInteract(action, context));
+            return context.isCancelled();
+        }
         boolean cancelled = super.handleInteract(action, context);
         if (context.getAction().equals(Action.LEFT)) {
-            String renameText = ((AnvilInventory) inventory).getRenameText();
+            String renameText = ((AnvilInventory) getInventory(context.getPlayer())).getRenameText();
             TargetContext<String> c = new TargetContext<>(context.getPlayer(), context.getMenu(), context.getSlot(), CONFIRM, true, renameText.isEmpty() ? startText : renameText);
             return super.handleInteract(CONFIRM, c);
         }
@@ -101,9 +147,7 @@ public class AnvilMenu extends TopInventoryMenu {
         if (startText != null) {
             if (i == null) {
                 i = getItemStack(0);
-                if (i == null) {
-                    i = new ItemStack(Material.PAPER);
-                }
+                i = i == null ? new ItemStack(Material.PAPER) : i.clone();
             }
             ItemMeta paperMeta = i.getItemMeta();
             paperMeta.setDisplayName(startText);
@@ -117,14 +161,25 @@ public class AnvilMenu extends TopInventoryMenu {
 
         WRAPPER.handleInventoryCloseEvent(viewer);
         WRAPPER.setActiveContainerDefault(viewer);
-        WRAPPER.sendPacketCloseWindow(viewer, containerId);
+        WRAPPER.sendPacketCloseWindow(viewer, getContainerId(viewer));
 
         handleClose(viewer);
     }
 
+    @Override
+    public void releaseViewer(UUID viewer) {
+        super.releaseViewer(viewer);
+        containerIds.remove(viewer);
+        writeDebouncer.cancel(viewer);
+    }
+
     @Override
     public void handleClose(Player viewer) {
         super.handleClose(viewer);
-        inventory = null;
+        containerIds.remove(viewer.getUniqueId());
+        writeDebouncer.cancel(viewer.getUniqueId());
+        if (!isPerViewerState()) {
+            sharedView.setInventory(null);
+        }
     }
 }
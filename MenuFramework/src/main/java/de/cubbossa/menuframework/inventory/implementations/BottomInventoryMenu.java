@@ -74,6 +74,7 @@ public class BottomInventoryMenu extends AbstractMenu implements BottomMenu {
     public void refresh(boolean checkSlots, int... slots) {
         if (checkSlots) {
             viewer.keySet().stream().map(Bukkit::getPlayer).filter(Objects::nonNull).forEach(player -> {
+                int offset = activateView(player).getOffset();
                 for (int slot : slots) {
                     if (InvMenuHandler.getInstance().getMenuAtSlot(player, slot) != this) {
                         continue;
@@ -83,6 +84,7 @@ public class BottomInventoryMenu extends AbstractMenu implements BottomMenu {
             });
         } else {
             viewer.keySet().stream().map(Bukkit::getPlayer).filter(Objects::nonNull).forEach(player -> {
+                int offset = activateView(player).getOffset();
                 for (int slot : slots) {
                     player.getInventory().setItem(slot, getItemStack(slot + offset));
                 }
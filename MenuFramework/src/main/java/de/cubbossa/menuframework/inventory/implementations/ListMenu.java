@@ -4,15 +4,24 @@ import de.cubbossa.menuframework.GUIHandler;
 import de.cubbossa.menuframework.inventory.Action;
 import de.cubbossa.menuframework.inventory.BottomMenu;
 import de.cubbossa.menuframework.inventory.Button;
+import de.cubbossa.menuframework.inventory.ListMenuDataSource;
+import de.cubbossa.menuframework.inventory.MenuPresets;
+import de.cubbossa.menuframework.inventory.ObservableListModel;
+import de.cubbossa.menuframework.inventory.ViewState;
 import de.cubbossa.menuframework.inventory.context.ContextConsumer;
 import de.cubbossa.menuframework.inventory.context.TargetContext;
+import de.cubbossa.menuframework.inventory.exception.ItemPlaceException;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.Setter;
 import net.kyori.adventure.text.ComponentLike;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.logging.Level;
@@ -20,6 +29,9 @@ import java.util.stream.IntStream;
 
 /**
  * A Chest Menu, that provides methods to add list entries without worrying about the last slot.
+ * <br>
+ * Entries can either be added one by one or be loaded page by page from a {@link ListMenuDataSource}. Entries of a data
+ * source are only materialized for the pages that are being rendered.
  */
 public class ListMenu extends RectInventoryMenu {
 
@@ -34,9 +46,41 @@ public class ListMenu extends RectInventoryMenu {
     @Getter
     private final int[] listSlots;
     private final long listSlotMask;
-    private final List<ListElement> listElements;
+    private final ObservableListModel<ListElement> listElements;
     private int listSlotCount;
 
+    // Marks list slots whose page is still being loaded by the executor
+    private static final ListElement LOADING = new ListElement(null, null);
+
+    private final int[] listSlotIndices;
+    private @Nullable ListMenuDataSource<?> listSource;
+    private @Nullable Function<Object, Button> listSourceButtons;
+    private @Nullable Executor listSourceExecutor;
+    // The materialized elements of the pages that have been rendered since the last refresh
+    private final Map<Integer, List<ListElement>> sourcePages = new HashMap<>();
+    private final Set<Integer> loadingPages = new HashSet<>();
+    // Loaded pages that are displayed until their reloaded version arrives
+    private final Set<Integer> stalePages = new HashSet<>();
+    // Increased whenever loaded pages become invalid, so that responses of older requests can be discarded
+    private int sourceGeneration = 0;
+    private int sourceSize = -1;
+
+    // The bound model and the range of list indices that changed since the last flush
+    private @Nullable ObservableListModel<?> listModel;
+    private @Nullable ObservableListModel.Listener<Object> listModelListener;
+    private int changedFrom = Integer.MAX_VALUE;
+    private int changedTo = -1;
+    private int flushedMaxPage = 0;
+    private boolean flushScheduled = false;
+
+    /**
+     * The item that is displayed in the list slots while a page is being loaded asynchronously.
+     */
+    @Getter
+    @Setter
+    private ItemStack loadingItem = MenuPresets.LOADING;
+    private final Supplier<ItemStack> loadingItemSupplier = () -> loadingItem;
+
     /**
      * Creates a new chest list menu with the given count of rows
      *
@@ -51,9 +95,11 @@ public class ListMenu extends RectInventoryMenu {
         }
         this.listSlotMask = BottomMenu.getMaskFromSlots(listSlots);
         this.listSlotCount = listSlots.length;
-        this.listSlots = new int[listSlotCount];
+        // The n-th list slot of a page displays the n-th element of the page
+        this.listSlotIndices = Arrays.stream(listSlots).sorted().distinct().toArray();
+        this.listSlots = new int[slotsPerPage];
         this.setupListTable();
-        this.listElements = new ArrayList<>();
+        this.listElements = new ObservableListModel<>();
     }
 
     private void setupListTable() {
@@ -69,25 +115,161 @@ public class ListMenu extends RectInventoryMenu {
     }
 
     private boolean isListSlot(int slot) {
-        return (listSlotMask >> (slot % slotsPerPage) & 1) == 1;
+        return (listSlotMask >> Math.floorMod(slot, slotsPerPage) & 1) == 1;
     }
 
     private ListElement getListElement(int slot) {
-        int listSlots = listSlotCount * (offset / slotsPerPage);
-        int listSlot = this.listSlots[slot % slotsPerPage];
-        return listSlot == -1 || listSlot + listSlots >= listElements.size() ? null : listElements.get(listSlot + listSlots);
+        int listSlot = this.listSlots[Math.floorMod(slot, slotsPerPage)];
+        if (listSlot == -1) {
+            return null;
+        }
+        int page = getOffset() / slotsPerPage;
+        if (listSource != null) {
+            if (page < 0) {
+                return null;
+            }
+            List<ListElement> elements = listSourceExecutor == null
+                    ? sourcePages.computeIfAbsent(page, p -> fetchPage(listSource, listSourceButtons, p, false))
+                    : sourcePages.get(page);
+            if (elements == null) {
+                loadPage(page);
+                return LOADING;
+            }
+            return listSlot >= elements.size() ? null : elements.get(listSlot);
+        }
+        int listSlots = listSlotCount * page;
+        return listSlot + listSlots >= listElements.size() ? null : listElements.get(listSlot + listSlots);
+    }
+
+    /**
+     * @param build If the item stacks of the page should be built now instead of on each render.
+     */
+    private List<ListElement> fetchPage(ListMenuDataSource<?> source, Function<Object, Button> buttons, int page, boolean build) {
+        List<?> objects = source.fetch(page * listSlotCount, listSlotCount);
+        List<ListElement> elements = new ArrayList<>(objects.size());
+        for (Object object : objects) {
+            Button button = buttons.apply(object);
+            Supplier<ItemStack> supplier = button.getStackSupplier();
+            if (build && supplier != null) {
+                ItemStack stack = supplier.get();
+                supplier = () -> stack;
+            }
+            elements.add(new ListElement(supplier, button.getClickHandler()));
+        }
+        return elements;
+    }
+
+    /**
+     * Loads a page on the executor of the async data source, unless it is already loaded or loading. The item stacks of
+     * the page are built on the executor as well.
+     */
+    private void loadPage(int page) {
+        if (page < 0 || (sourcePages.containsKey(page) && !stalePages.contains(page)) || !loadingPages.add(page)) {
+            return;
+        }
+        ListMenuDataSource<?> source = listSource;
+        Function<Object, Button> buttons = listSourceButtons;
+        int generation = sourceGeneration;
+        listSourceExecutor.execute(() -> {
+            try {
+                int size = source.size();
+                List<ListElement> elements = fetchPage(source, buttons, page, true);
+                GUIHandler.getInstance().callSynchronized(() -> onPageLoaded(generation, page, size, elements));
+            } catch (Throwable t) {
+                GUIHandler.getInstance().getLogger().log(Level.SEVERE, "Error occured while loading page " + page + " of list menu", t);
+                GUIHandler.getInstance().callSynchronized(() -> {
+                    if (generation == sourceGeneration) {
+                        loadingPages.remove(page);
+                    }
+                });
+            }
+        });
+    }
+
+    private void onPageLoaded(int generation, int page, int size, List<ListElement> elements) {
+        if (generation != sourceGeneration) {
+            return;
+        }
+        loadingPages.remove(page);
+        stalePages.remove(page);
+        // Throw away pages that no viewer is on or next to anymore
+        if (!getViewedPages().contains(page)) {
+            sourcePages.remove(page);
+            return;
+        }
+        sourcePages.put(page, elements);
+        boolean sizeChanged = size != sourceSize;
+        sourceSize = size;
+
+        for (Player player : getViewingPlayers()) {
+            if (getCurrentPage(player) != page) {
+                continue;
+            }
+            if (sizeChanged) {
+                // The pagination depends on the size, so render the whole page
+                renderLoaded(player);
+            } else {
+                super.refresh(player, listSlotIndices);
+            }
+            if (!perViewerState) {
+                break;
+            }
+        }
+    }
+
+    private void renderLoaded(Player player) {
+        try {
+            super.render(player, true);
+        } catch (ItemPlaceException e) {
+            GUIHandler.getInstance().getExceptionHandler().accept(e);
+        }
+    }
+
+    private List<Player> getViewingPlayers() {
+        List<Player> players = new ArrayList<>();
+        for (UUID uuid : viewer.keySet()) {
+            Player player = Bukkit.getPlayer(uuid);
+            if (player != null) {
+                players.add(player);
+            }
+        }
+        return players;
+    }
+
+    /**
+     * @return The pages that are currently viewed and the pages next to them.
+     */
+    private Set<Integer> getViewedPages() {
+        Set<Integer> pages = new HashSet<>();
+        if (perViewerState) {
+            for (UUID uuid : viewer.keySet()) {
+                ViewState state = viewStates.get(uuid);
+                if (state != null) {
+                    addAdjacentPages(pages, Math.floorDiv(state.getOffset(), slotsPerPage));
+                }
+            }
+        } else if (!viewer.isEmpty()) {
+            addAdjacentPages(pages, Math.floorDiv(sharedView.getOffset(), slotsPerPage));
+        }
+        return pages;
+    }
+
+    private void addAdjacentPages(Set<Integer> pages, int page) {
+        pages.add(page - 1);
+        pages.add(page);
+        pages.add(page + 1);
     }
 
     @Override
-    protected ItemStack getStaticItemStack(int slot) {
+    protected Supplier<ItemStack> getStaticItemSupplier(int slot) {
         if (!isListSlot(slot)) {
             return null;
         }
         ListElement element = getListElement(slot);
-        if (element == null || element.itemSupplier == null) {
-            return null;
+        if (element == LOADING) {
+            return loadingItemSupplier;
         }
-        return element.itemSupplier.get();
+        return element == null ? null : element.itemSupplier;
     }
 
     @Override
@@ -114,7 +296,290 @@ public class ListMenu extends RectInventoryMenu {
 
     @Override
     public int getMaxPage() {
-        return (int) Math.floor((double) listElements.size() / listSlotCount);
+        if (listSource != null && listSourceExecutor != null) {
+            // The size is only known once the first page has been loaded
+            return sourceSize < 0 ? getCurrentPage() : (int) Math.floor((double) sourceSize / listSlotCount);
+        }
+        int size = listSource != null ? listSource.size() : listElements.size();
+        return (int) Math.floor((double) size / listSlotCount);
+    }
+
+    @Override
+    public void render(Player viewer, boolean clear) throws ItemPlaceException {
+        if (listSourceExecutor == null) {
+            // Reload the page from the data source on each render
+            sourcePages.clear();
+            super.render(viewer, clear);
+            return;
+        }
+        // Loaded pages are kept while they are viewed, so that turning to a prefetched page renders instantly
+        super.render(viewer, clear);
+        if (listSource == null) {
+            return;
+        }
+        int page = getCurrentPage(viewer);
+        Set<Integer> viewed = getViewedPages();
+        addAdjacentPages(viewed, page);
+        sourcePages.keySet().retainAll(viewed);
+        stalePages.retainAll(viewed);
+
+        loadPage(page);
+        loadPage(page + 1);
+        loadPage(page - 1);
+    }
+
+    @Override
+    public void refresh(int... slots) {
+        boolean list = containsListSlot(slots);
+        if (list) {
+            reloadSourcePages();
+        }
+        super.refresh(slots);
+        if (list) {
+            loadViewedPages();
+        }
+    }
+
+    @Override
+    public void refresh(Player viewer, int... slots) {
+        boolean list = containsListSlot(slots);
+        if (list) {
+            reloadSourcePages();
+        }
+        super.refresh(viewer, slots);
+        if (list) {
+            loadViewedPages();
+        }
+    }
+
+    private boolean containsListSlot(int[] slots) {
+        for (int slot : slots) {
+            if (isListSlot(slot)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Updates the visible pages of all viewers after the content of the list source has changed, for example after the
+     * query of a {@link de.cubbossa.menuframework.inventory.SearchableListSource} was changed. Viewers stay on their
+     * page unless it does not exist anymore. With {@link RenderMode#DIFF}, only slots whose items have changed are
+     * written into the inventories.
+     */
+    public void refreshList() {
+        reloadSourcePages();
+        int maxPage = getMaxPage();
+        for (Player player : getViewingPlayers()) {
+            if (getCurrentPage(player) > maxPage) {
+                setPage(player, maxPage);
+            } else {
+                try {
+                    render(player, true);
+                } catch (ItemPlaceException e) {
+                    GUIHandler.getInstance().getExceptionHandler().accept(e);
+                }
+            }
+            if (!perViewerState) {
+                break;
+            }
+        }
+    }
+
+    private void invalidateSourcePages() {
+        sourcePages.clear();
+        loadingPages.clear();
+        stalePages.clear();
+        sourceGeneration++;
+    }
+
+    /**
+     * Loads the pages of the data source again. Synchronous pages are fetched again on their next render, asynchronous
+     * pages stay visible until their reloaded version has arrived.
+     */
+    private void reloadSourcePages() {
+        if (listSourceExecutor == null) {
+            invalidateSourcePages();
+            return;
+        }
+        stalePages.addAll(sourcePages.keySet());
+        loadingPages.clear();
+        sourceGeneration++;
+    }
+
+    private void loadViewedPages() {
+        if (listSource == null || listSourceExecutor == null) {
+            return;
+        }
+        for (int page : getViewedPages()) {
+            loadPage(page);
+        }
+    }
+
+    /**
+     * Loads the list entries page by page from a data source instead of the added list entries. Only the entries of the
+     * rendered pages are fetched and converted into buttons, the maximum page is calculated from the size of the source.
+     * Each render or refresh of list slots fetches the displayed page again.
+     *
+     * @param source        The data source to load the entries from or null to use the added list entries again.
+     * @param buttonFactory Creates the button for an element of the data source.
+     * @param <T>           The type of the list elements.
+     */
+    public <T> void setListSource(@Nullable ListMenuDataSource<T> source, Function<T, Button> buttonFactory) {
+        setListSource(source, buttonFactory, null);
+    }
+
+    /**
+     * Loads the list entries page by page from a data source. If an executor is given, pages are fetched, converted
+     * into buttons and their item stacks are built on the executor while the list slots display the
+     * {@link #getLoadingItem()}. Once a page has arrived, only its list slots are filled on the main thread. The pages
+     * before and after the current page are prefetched, and pages that no viewer is on or next to anymore are discarded.
+     * Refreshing list slots reloads the pages, loaded pages stay visible until their reloaded version has arrived.
+     *
+     * @param source        The data source to load the entries from or null to use the added list entries again.
+     * @param buttonFactory Creates the button for an element of the data source. The button factory and the item
+     *                      supplier of the button are called on the executor thread.
+     * @param executor      The executor to load pages with, for example an async Bukkit scheduler task, or null to load
+     *                      pages synchronously while rendering. Must not run tasks on the calling thread.
+     * @param <T>           The type of the list elements.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> void setListSource(@Nullable ListMenuDataSource<T> source, Function<T, Button> buttonFactory, @Nullable Executor executor) {
+        if (listModel != null) {
+            unbindListModel();
+            listModel = null;
+            listModelListener = null;
+        }
+        this.listSource = source;
+        this.listSourceButtons = source == null ? null : (Function<Object, Button>) buttonFactory;
+        this.listSourceExecutor = source == null ? null : executor;
+        this.sourceSize = -1;
+        invalidateSourcePages();
+    }
+
+    /**
+     * Loads the list entries from an observable list model and keeps the viewers in sync with it. Changes of the model
+     * are collected and applied once per tick: each viewer only receives the slots of its current page that are
+     * affected by the changes. Inserting or removing an element refreshes the following slots of the page, updating an
+     * element only refreshes its own slot. If the amount of pages changes, the pages are rendered again.
+     * <br>
+     * The menu only listens to the model while it has viewers, so a closed menu is not kept alive by the model. Use
+     * {@link #setListSource(ListMenuDataSource, Function)} to unbind the model.
+     *
+     * @param model         The model to display.
+     * @param buttonFactory Creates the button for an element of the model.
+     * @param <T>           The type of the list elements.
+     */
+    public <T> void setListModel(ObservableListModel<T> model, Function<T, Button> buttonFactory) {
+        setListSource(model, buttonFactory);
+        ObservableListModel.Listener<Object> listener = new ObservableListModel.Listener<>() {
+            @Override
+            public void inserted(int index, Object element) {
+                markChanged(index, Integer.MAX_VALUE);
+            }
+
+            @Override
+            public void removed(int index, Object element) {
+                markChanged(index, Integer.MAX_VALUE);
+            }
+
+            @Override
+            public void moved(int from, int to, Object element) {
+                markChanged(Integer.min(from, to), Integer.max(from, to));
+            }
+
+            @Override
+            public void updated(int index, Object element) {
+                markChanged(index, index);
+            }
+
+            @Override
+            public void cleared() {
+                markChanged(0, Integer.MAX_VALUE);
+            }
+        };
+        this.listModel = model;
+        this.listModelListener = listener;
+        if (!viewer.isEmpty()) {
+            bindListModel();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void bindListModel() {
+        ((ObservableListModel<Object>) listModel).addListener(listModelListener);
+        flushedMaxPage = getMaxPage();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void unbindListModel() {
+        ((ObservableListModel<Object>) listModel).removeListener(listModelListener);
+        changedFrom = Integer.MAX_VALUE;
+        changedTo = -1;
+    }
+
+    @Override
+    public void firstOpen() {
+        super.firstOpen();
+        if (listModel != null) {
+            bindListModel();
+        }
+    }
+
+    @Override
+    public void lastClose() {
+        super.lastClose();
+        if (listModel != null) {
+            unbindListModel();
+        }
+    }
+
+    private void markChanged(int from, int to) {
+        changedFrom = Integer.min(changedFrom, from);
+        changedTo = Integer.max(changedTo, to);
+        if (!flushScheduled) {
+            flushScheduled = true;
+            Bukkit.getScheduler().runTask(GUIHandler.getInstance().getPlugin(), this::flushChanges);
+        }
+    }
+
+    private void flushChanges() {
+        flushScheduled = false;
+        int from = changedFrom;
+        int to = changedTo;
+        changedFrom = Integer.MAX_VALUE;
+        changedTo = -1;
+        if (listModel == null || from > to) {
+            return;
+        }
+        sourcePages.clear();
+        int maxPage = getMaxPage();
+        boolean pagesChanged = maxPage != flushedMaxPage;
+        flushedMaxPage = maxPage;
+
+        for (Player player : getViewingPlayers()) {
+            int page = getCurrentPage(player);
+            if (page > maxPage) {
+                setPage(player, maxPage);
+            } else if (pagesChanged) {
+                // The pagination depends on the amount of pages, so render the whole page
+                renderLoaded(player);
+            } else {
+                int start = page * listSlotCount;
+                int first = Integer.max(from, start) - start;
+                int last = Integer.min(to, start + listSlotCount - 1) - start;
+                if (first <= last) {
+                    super.refresh(player, Arrays.copyOfRange(listSlotIndices, first, last + 1));
+                }
+            }
+            if (!perViewerState) {
+                break;
+            }
+        }
+    }
+
+    public @Nullable ListMenuDataSource<?> getListSource() {
+        return listSource;
     }
 
     /**
@@ -151,7 +616,7 @@ public class ListMenu extends RectInventoryMenu {
      * Removes the last element from the list
      */
     public void popListEntry() {
-        listElements.remove(listElements.get(listElements.size() - 1));
+        listElements.remove(listElements.size() - 1);
     }
 
     /**
@@ -87,6 +87,6 @@ public class RectInventoryMenu extends TopInventoryMenu {
 
     @Override
     protected int applyOffset(int slot) {
-        return offsetApplier.applyOffset(slot, rows, offset);
+        return offsetApplier.applyOffset(slot, rows, getOffset());
     }
 }
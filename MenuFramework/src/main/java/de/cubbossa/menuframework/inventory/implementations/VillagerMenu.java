@@ -77,7 +77,7 @@ public class VillagerMenu extends InventoryMenu {
     @Override
     protected void openInventory(Player player, Inventory inventory) {
         if (merchant != null) {
-            this.inventory = player.openMerchant(merchant, true).getTopInventory();
+            getViewState(player).setInventory(player.openMerchant(merchant, true).getTopInventory());
         }
     }
 
@@ -89,7 +89,7 @@ public class VillagerMenu extends InventoryMenu {
             a = ATTEMPT_BUY;
         }
         if (a != null) {
-            int selected = ((MerchantInventory) inventory).getSelectedRecipeIndex();
+            int selected = ((MerchantInventory) getInventory(context.getPlayer())).getSelectedRecipeIndex();
             TradeButton btn = offers.get(selected);
 
             if (btn == null) {
@@ -13,6 +13,7 @@ import org.bukkit.event.inventory.*;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.InventoryView;
 import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
 import java.util.HashSet;
@@ -23,6 +24,7 @@ import java.util.stream.Collectors;
 public class InventoryListener implements MenuListener {
 
 	private final Set<Menu> menus = new HashSet<>();
+	private final MenuIndex<Inventory, Menu> index = new MenuIndex<>();
 
 	public InventoryListener() {
 		Bukkit.getPluginManager().registerEvents(this, GUIHandler.getInstance().getPlugin());
@@ -39,6 +41,34 @@ public class InventoryListener implements MenuListener {
 		menus.remove(menu);
 	}
 
+	@Override
+	public void register(Menu menu, Player viewer, @Nullable Inventory inventory) {
+		if (menu instanceof TopMenu) {
+			index.put(viewer.getUniqueId(), inventory, menu);
+		}
+	}
+
+	@Override
+	public void unregister(Menu menu, Player viewer, @Nullable Inventory inventory) {
+		if (!(menu instanceof TopMenu)) {
+			return;
+		}
+		// Keep shared inventories indexed while other viewers still see them
+		boolean shared = inventory != null && inventory.getViewers().stream()
+				.anyMatch(human -> !human.getUniqueId().equals(viewer.getUniqueId()) && menu.getViewer().containsKey(human.getUniqueId()));
+		index.remove(viewer.getUniqueId(), shared ? null : inventory, menu);
+	}
+
+	/**
+	 * @param player    The player that caused the event.
+	 * @param inventory The inventory of the event.
+	 * @return The open top menu that the given inventory belongs to or null, if the inventory is not part of a menu.
+	 */
+	public @Nullable Menu getMenu(Player player, @Nullable Inventory inventory) {
+		Menu menu = index.get(player.getUniqueId(), inventory);
+		return menu != null && menu.isThisInventory(inventory, player) ? menu : null;
+	}
+
 	public void onServerStop() {
 		for (Menu menu : new ArrayList<>(menus)) {
 			for (Player player : menu.getViewer().keySet().stream().map(Bukkit::getPlayer).collect(Collectors.toSet())) {
@@ -49,8 +79,9 @@ public class InventoryListener implements MenuListener {
 
 	@EventHandler
 	public void onClose(InventoryCloseEvent event) {
-		for (Menu menu : new ArrayList<>(menus)) {
-			if (event.getPlayer() instanceof Player && menu instanceof TopInventoryMenu) {
+		if (event.getPlayer() instanceof Player) {
+			Menu menu = index.get(event.getPlayer().getUniqueId());
+			if (menu instanceof TopInventoryMenu) {
 				menu.handleClose((Player) event.getPlayer());
 			}
 		}
@@ -105,13 +136,8 @@ public class InventoryListener implements MenuListener {
 				// Cancel moving to upper inventory
 				if (event.getClickedInventory().equals(player.getOpenInventory().getBottomInventory())) {
 
-					menus.forEach(menu -> {
-						if (menu.getViewer().size() == 0) {
-							return;
-						}
-						if (!menu.isThisInventory(player.getOpenInventory().getTopInventory(), player)) {
-							return;
-						}
+					Menu menu = getMenu(player, player.getOpenInventory().getTopInventory());
+					if (menu != null) {
 						int[] slots = getShiftClickSlots(event.getCurrentItem(), player.getOpenInventory().getTopInventory());
 
 						Bukkit.getScheduler().runTaskLater(GUIHandler.getInstance().getPlugin(), () -> {
@@ -125,11 +151,11 @@ public class InventoryListener implements MenuListener {
 							simulatedShiftClick(event.getCurrentItem(), player.getOpenInventory().getTopInventory(), mask);
 						}, 1);
 						event.setCancelled(true);
-					});
+					}
 				}
 				// Cancel moving to lower inventory
 				else {
-					Menu menu = menus.stream().filter(m -> m.isThisInventory(player.getOpenInventory().getTopInventory(), player)).findFirst().orElse(null);
+					Menu menu = getMenu(player, player.getOpenInventory().getTopInventory());
 					if (menu == null) {
 						return;
 					}
@@ -155,20 +181,15 @@ public class InventoryListener implements MenuListener {
 			}
 			// Prevent collecting all equal items from menu
 			if (event.getAction().equals(InventoryAction.COLLECT_TO_CURSOR)) {
-				menus.forEach(menu -> {
-					if (menu.getViewer().size() == 0) {
-						return;
-					}
-					if (menu.isThisInventory(event.getClickedInventory(), player)) {
-						event.setCancelled(true);
-					}
-				});
+				if (getMenu(player, event.getClickedInventory()) != null) {
+					event.setCancelled(true);
+				} else if (event.getClickedInventory().equals(player.getInventory()) && !InvMenuHandler.getInstance().getBottomMenus(player).isEmpty()) {
+					event.setCancelled(true);
+				}
 			}
 
-			new ArrayList<>(menus).stream().filter(menu -> menu instanceof TopMenu).forEach(menu -> {
-				if (menu.getViewer().size() == 0 || !menu.isThisInventory(event.getClickedInventory(), player)) {
-					return;
-				}
+			Menu menu = getMenu(player, event.getClickedInventory());
+			if (menu != null) {
 				Action<ClickContext> action = Action.fromClickType(event.getClick());
 
 				ClickContext c = new ClickContext(player, menu, event.getSlot(), action, true);
@@ -176,7 +197,7 @@ public class InventoryListener implements MenuListener {
 				if (event.getClick().equals(ClickType.CREATIVE) && event.isCancelled()) {
 					player.updateInventory();
 				}
-			});
+			}
 		}
 	}
 
@@ -275,16 +296,14 @@ public class InventoryListener implements MenuListener {
 				return;
 			}
 
-			new ArrayList<>(menus).stream().filter(menu -> menu instanceof TopMenu).forEach(menu -> {
-				if (menu.getViewer().size() == 0 || event.getInventorySlots().size() > 1) {
-					return;
-				}
-				if (!menu.isThisInventory(event.getInventory(), player)) {
-					return;
-				}
+			if (event.getInventorySlots().size() > 1) {
+				return;
+			}
+			Menu menu = getMenu(player, event.getInventory());
+			if (menu != null) {
 				Action<ClickContext> action = Action.fromClickType(type);
 				event.setCancelled(menu.handleInteract(action, new ClickContext(player, menu, slot, action, true)));
-			});
+			}
 		}
 	}
 
@@ -293,16 +312,11 @@ public class InventoryListener implements MenuListener {
 		if (event.getWhoClicked() instanceof Player) {
 			Player player = (Player) event.getWhoClicked();
 
-			new ArrayList<>(menus).stream().filter(menu -> menu instanceof VillagerMenu).forEach(menu -> {
-				if (menu.getViewer().size() == 0) {
-					return;
-				}
-				if (!menu.isThisInventory(event.getInventory(), player)) {
-					return;
-				}
+			Menu menu = getMenu(player, event.getInventory());
+			if (menu instanceof VillagerMenu) {
 				event.setCancelled(menu.handleInteract(VillagerMenu.TRADE_SELECT,
 						new TargetContext<>(player, menu, event.getIndex(), VillagerMenu.TRADE_SELECT, false, event.getMerchant().getRecipe(event.getIndex()))));
-			});
+			}
 		}
 	}
 }
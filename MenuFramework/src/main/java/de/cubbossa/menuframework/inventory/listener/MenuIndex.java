@@ -0,0 +1,78 @@
+package de.cubbossa.menuframework.inventory.listener;
+
+import com.google.common.collect.MapMaker;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Resolves the open menu of an inventory event in constant time.
+ * Menus are indexed by the identity of their inventory and by the uuids of their viewers. Inventories are only weakly
+ * referenced and compared by identity, so inventory wrappers that are equal but not identical fall back to the viewer index.
+ *
+ * @param <I> The inventory type.
+ * @param <M> The menu type.
+ */
+public class MenuIndex<I, M> {
+
+	private final Map<I, M> byInventory = new MapMaker().weakKeys().makeMap();
+	private final Map<UUID, M> byViewer = new HashMap<>();
+
+	/**
+	 * Indexes a menu for a viewer.
+	 *
+	 * @param viewer    The uuid of the viewer.
+	 * @param inventory The inventory that the viewer sees or null if unknown.
+	 * @param menu      The menu to index.
+	 */
+	public void put(UUID viewer, @Nullable I inventory, M menu) {
+		byViewer.put(viewer, menu);
+		if (inventory != null) {
+			byInventory.put(inventory, menu);
+		}
+	}
+
+	/**
+	 * Removes the viewer and inventory entries of a menu. Entries that point to another menu are kept.
+	 *
+	 * @param viewer    The uuid of the viewer.
+	 * @param inventory The inventory to remove or null to keep the inventory indexed, for example because other viewers still see it.
+	 * @param menu      The menu that has been closed.
+	 */
+	public void remove(UUID viewer, @Nullable I inventory, M menu) {
+		byViewer.remove(viewer, menu);
+		if (inventory != null) {
+			byInventory.remove(inventory, menu);
+		}
+	}
+
+	/**
+	 * @param viewer    The uuid of the viewer.
+	 * @param inventory The inventory of the event, if present.
+	 * @return The menu that is indexed for the inventory, otherwise the menu of the viewer or null if none is indexed.
+	 */
+	public @Nullable M get(UUID viewer, @Nullable I inventory) {
+		if (inventory != null) {
+			M menu = byInventory.get(inventory);
+			if (menu != null) {
+				return menu;
+			}
+		}
+		return byViewer.get(viewer);
+	}
+
+	/**
+	 * @param viewer The uuid of the viewer.
+	 * @return The menu that is indexed for the viewer or null if none is indexed.
+	 */
+	public @Nullable M get(UUID viewer) {
+		return byViewer.get(viewer);
+	}
+
+	public void clear() {
+		byInventory.clear();
+		byViewer.clear();
+	}
+}
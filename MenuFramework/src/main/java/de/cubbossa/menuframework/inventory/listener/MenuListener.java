@@ -1,11 +1,34 @@
 package de.cubbossa.menuframework.inventory.listener;
 
 import de.cubbossa.menuframework.inventory.Menu;
+import org.bukkit.entity.Player;
 import org.bukkit.event.Listener;
+import org.bukkit.inventory.Inventory;
+import org.jetbrains.annotations.Nullable;
 
 public interface MenuListener extends Listener {
 
 	void register(Menu menu);
 
 	void unregister(Menu menu);
+
+	/**
+	 * Called whenever a player starts viewing a registered menu.
+	 *
+	 * @param menu      The menu that has been opened.
+	 * @param viewer    The player that opened the menu.
+	 * @param inventory The inventory that the player sees, if the menu already created one.
+	 */
+	default void register(Menu menu, Player viewer, @Nullable Inventory inventory) {
+	}
+
+	/**
+	 * Called whenever a player stops viewing a registered menu.
+	 *
+	 * @param menu      The menu that has been closed.
+	 * @param viewer    The player that closed the menu.
+	 * @param inventory The inventory that the player saw.
+	 */
+	default void unregister(Menu menu, Player viewer, @Nullable Inventory inventory) {
+	}
 }
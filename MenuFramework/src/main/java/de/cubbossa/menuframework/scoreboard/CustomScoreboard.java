@@ -1,11 +1,13 @@
 package de.cubbossa.menuframework.scoreboard;
 
 import com.google.common.collect.Lists;
+import de.cubbossa.menuframework.ViewerRegistry;
 import de.cubbossa.menuframework.chat.ChatMenu;
 import de.cubbossa.menuframework.util.Animation;
 import de.cubbossa.menuframework.util.ChatUtils;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.ComponentLike;
 import net.kyori.adventure.text.format.TextColor;
@@ -16,11 +18,14 @@ import org.bukkit.scoreboard.DisplaySlot;
 import org.bukkit.scoreboard.Objective;
 import org.bukkit.scoreboard.Scoreboard;
 import org.bukkit.scoreboard.Team;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
-public class CustomScoreboard {
+public class CustomScoreboard implements ViewerRegistry.Attachment {
 
     @RequiredArgsConstructor
     public static class Entry {
@@ -40,11 +45,44 @@ public class CustomScoreboard {
     private final String identifier;
     @Getter
     private ComponentLike title;
+    @Getter
     private final int lines;
 
-    private final Map<Player, Objective> scoreboards;
+    private final Map<UUID, Objective> scoreboards;
+    // The last legacy text that has been sent per viewer and line, null if the line has not been sent yet.
+    // Viewers that share a board also share the same array.
+    private final Map<UUID, String[]> renderedLines;
+    // Shared mode only: the board for each rendered content and the viewers of each board
+    private final Map<List<String>, Objective> sharedBoards;
+    private final Map<Objective, Set<UUID>> sharedViewers;
+    // Viewers that are rendered by a backend instead of a Bukkit scoreboard
+    private final Map<UUID, ScoreboardBackend> backends;
     private final Map<Integer, Entry> entries;
     private final Map<Integer, Collection<Animation>> animations;
+    private final Map<Integer, ScoreboardScheduler.Refresh> refreshes;
+    // One shared instance, so that the animation engine updates all lines that are due in the same tick together
+    private final Consumer<int[]> animationUpdate = indices -> Arrays.stream(indices).forEach(line -> updateLine(getViewers(), line));
+
+    /**
+     * If enabled, viewers whose lines render to the same text share one {@link Scoreboard} instead of having one
+     * scoreboard per viewer. A viewer gets its own scoreboard once one of its lines differs from the lines of the other
+     * viewers and joins a shared scoreboard again once its lines match.
+     * Changing this setting only affects players that are shown this scoreboard afterwards.
+     */
+    @Getter
+    @Setter
+    private boolean shared = false;
+
+    /**
+     * The amount of line updates that have been sent to the viewers.
+     */
+    @Getter
+    private long sentCount = 0;
+    /**
+     * The amount of line updates that have been skipped because the text of the line did not change.
+     */
+    @Getter
+    private long skippedCount = 0;
 
     /**
      * @param identifier a unique identifier for this scoreboard
@@ -57,46 +95,58 @@ public class CustomScoreboard {
         this.lines = Integer.min(lines, 15);
 
         this.scoreboards = new HashMap<>();
+        this.renderedLines = new HashMap<>();
+        this.sharedBoards = new HashMap<>();
+        this.sharedViewers = new HashMap<>();
+        this.backends = new HashMap<>();
         this.entries = new TreeMap<>();
         this.animations = new TreeMap<>();
+        this.refreshes = new TreeMap<>();
     }
 
     /**
      * Makes this scoreboard visible for a certain player. If another {@link CustomScoreboard} was opened before, the player
      * will open this scoreboard on top. Once this scoreboard is being removed, the previous scoreboard will reappear.
+     * <br>
+     * If a {@link ScoreboardBackend} is set in the {@link CustomScoreboardHandler}, the scoreboard is rendered by the backend.
      *
      * @param player the player to show this scoreboard to
      */
     public void show(Player player) {
-        Scoreboard scoreboard = Bukkit.getScoreboardManager().getNewScoreboard();
-        Objective obj = scoreboard.registerNewObjective("GUI Framework", identifier, ChatUtils.toLegacy(title));
-        scoreboards.put(player, obj);
-
-        obj.setDisplaySlot(DisplaySlot.SIDEBAR);
-
-        // Static lines
+        String[] content = new String[lines];
         for (int i = 0; i < lines; i++) {
-            int line = lines - i;
-            String lineHex = Integer.toHexString(line);
-            String scoreString = "§" + lineHex + ChatColor.WHITE;
-            ComponentLike entry = entries.get(i).componentSupplier().get();
-
-            obj.getScore(scoreString).setScore(line);
-
-            if (entry == null) {
-                continue;
-            }
-            Team team = scoreboard.getTeam(identifier + i);
-            if (team == null) {
-                team = scoreboard.registerNewTeam(identifier + i);
-            }
-            team.addEntry(scoreString);
-            team.setPrefix(ChatUtils.toLegacy(entry));
+            content[i] = renderLine(i);
+        }
+        ScoreboardBackend previous = backends.remove(player.getUniqueId());
+        if (previous != null) {
+            previous.hide(player, this, renderedLines.get(player.getUniqueId()));
+        }
+        ScoreboardBackend backend = CustomScoreboardHandler.getInstance().getBackend();
+        if (backend != null) {
+            leaveSharedBoard(player.getUniqueId());
+            backends.put(player.getUniqueId(), backend);
+            renderedLines.put(player.getUniqueId(), content);
+            backend.show(player, this, ChatUtils.toLegacy(title), content);
+            sentCount += Arrays.stream(content).filter(Objects::nonNull).count();
+            ViewerRegistry.getInstance().attach(player.getUniqueId(), this);
+            CustomScoreboardHandler.getInstance().registerScoreboard(player, this);
+            updateRefreshes();
+            return;
+        }
+        if (shared) {
+            leaveSharedBoard(player.getUniqueId());
+            joinSharedBoard(player, content);
+        } else {
+            Objective obj = createBoard(content);
+            scoreboards.put(player.getUniqueId(), obj);
+            renderedLines.put(player.getUniqueId(), content);
         }
 
         // Run once to set all values
-        player.setScoreboard(scoreboard);
+        player.setScoreboard(scoreboards.get(player.getUniqueId()).getScoreboard());
+        ViewerRegistry.getInstance().attach(player.getUniqueId(), this);
         CustomScoreboardHandler.getInstance().registerScoreboard(player, this);
+        updateRefreshes();
     }
 
     /**
@@ -114,79 +164,336 @@ public class CustomScoreboard {
      * @return all players that are supposed to see this scoreboard at the moment. Other plugins can override the current scoreboard but the player still counts as viewing this scoreboard.
      */
     public Collection<Player> getViewers() {
-        return scoreboards.keySet();
+        return renderedLines.keySet().stream().map(Bukkit::getPlayer).filter(Objects::nonNull).collect(Collectors.toList());
+    }
+
+    /**
+     * @param player the player to check
+     * @return true if the player is supposed to see this scoreboard at the moment.
+     */
+    public boolean isViewer(Player player) {
+        return renderedLines.containsKey(player.getUniqueId());
+    }
+
+    /**
+     * @return true if any player is supposed to see this scoreboard at the moment.
+     */
+    public boolean hasViewers() {
+        return !renderedLines.isEmpty();
+    }
+
+    /**
+     * @return the amount of server side scoreboards that this scoreboard uses for its viewers.
+     */
+    public int getBoardCount() {
+        return (int) scoreboards.values().stream().distinct().count();
     }
 
     /**
-     * Updates all dynamic lines of this scoreboard for the given player
+     * Updates all dynamic lines of this scoreboard for the given player. Lines whose text did not change since the last
+     * update are skipped.
      *
      * @param player the player to update this scoreboard for
      */
     public void update(Player player) {
-        Objective obj = scoreboards.get(player);
+        if (backends.containsKey(player.getUniqueId())) {
+            for (int i = 0; i < lines; i++) {
+                updateLine(player, i);
+            }
+            return;
+        }
+        Objective obj = scoreboards.get(player.getUniqueId());
         if (obj == null || obj.getScoreboard() == null) {
             return;
         }
+        if (sharedViewers.containsKey(obj)) {
+            String[] content = render(renderedLines.get(player.getUniqueId()), 0, lines);
+            if (content != null) {
+                updateSharedBoard(player, obj, content);
+            }
+            return;
+        }
         for (int i = 0; i < lines; i++) {
-            updateLine(obj, i);
+            updateLine(player, obj, i);
         }
     }
 
     /**
-     * Updates all dynamic lines of this scoreboard for the given players
+     * Updates all dynamic lines of this scoreboard for the given players. Shared scoreboards are rendered and updated
+     * once for all of their viewers.
      *
      * @param players the players to update this scoreboard for
      */
     public void update(Collection<Player> players) {
-        for (Player player : players) {
-            update(player);
-        }
+        update(players, 0, lines);
     }
 
     /**
-     * Updates a certain dynamic line of this scoreboard for a given player
+     * Updates a certain dynamic line of this scoreboard for a given player. The line is skipped if its text did not change
+     * since the last update.
      *
      * @param player the player to update this scoreboard for
      * @param index  the line index
      */
     public void updateLine(Player player, int index) {
-        Objective objective = scoreboards.get(player);
+        ScoreboardBackend backend = backends.get(player.getUniqueId());
+        if (backend != null) {
+            if (index < 0 || index >= lines || !entries.containsKey(index)) {
+                return;
+            }
+            String[] rendered = renderedLines.get(player.getUniqueId());
+            String legacy = renderLine(index);
+            if (Objects.equals(legacy, rendered[index])) {
+                skippedCount++;
+                return;
+            }
+            backend.updateLine(player, this, index, rendered[index], legacy);
+            rendered[index] = legacy;
+            sentCount++;
+            return;
+        }
+        Objective objective = scoreboards.get(player.getUniqueId());
         if (objective == null) {
             return;
         }
-        updateLine(objective, index);
+        updateLine(player, objective, index);
     }
 
     /**
-     * Updates a certain dynamic line of this scoreboard for the given players
+     * Updates a certain dynamic line of this scoreboard for the given players. Shared scoreboards are rendered and
+     * updated once for all of their viewers.
      *
      * @param players the players to update this scoreboard for
      * @param index   the line index
      */
     public void updateLine(Collection<Player> players, int index) {
-        for (Player player : players) {
-            updateLine(player, index);
+        update(players, index, index + 1);
+    }
+
+    /**
+     * Updates a line for the {@link ScoreboardScheduler}. If the player shares a board with other viewers, the board is
+     * updated for all of them.
+     */
+    void refreshLine(Player player, int index) {
+        update(Collections.singletonList(player), index, index + 1);
+    }
+
+    /**
+     * @return one viewer per scoreboard, so that refreshing the lines of these viewers updates all viewers.
+     */
+    List<Player> getRefreshViewers() {
+        List<Player> players = new ArrayList<>();
+        Set<Objective> boards = new HashSet<>();
+        for (UUID uuid : renderedLines.keySet()) {
+            Player player = Bukkit.getPlayer(uuid);
+            if (player == null) {
+                continue;
+            }
+            Objective obj = scoreboards.get(uuid);
+            if (obj != null && sharedViewers.containsKey(obj) && !boards.add(obj)) {
+                continue;
+            }
+            players.add(player);
+        }
+        return players;
+    }
+
+    private void update(Collection<Player> players, int fromIndex, int toIndex) {
+        fromIndex = Integer.max(fromIndex, 0);
+        toIndex = Integer.min(toIndex, lines);
+        // Shared boards that are already up-to-date for the remaining players
+        Set<Objective> updated = new HashSet<>();
+        // Copy, viewers of shared boards may switch boards while updating
+        for (Player player : new ArrayList<>(players)) {
+            Objective obj = backends.containsKey(player.getUniqueId()) ? null : scoreboards.get(player.getUniqueId());
+            if (obj == null || !sharedViewers.containsKey(obj)) {
+                for (int i = fromIndex; i < toIndex; i++) {
+                    updateLine(player, i);
+                }
+                continue;
+            }
+            if (obj.getScoreboard() == null || !updated.add(obj)) {
+                continue;
+            }
+            String[] rendered = renderedLines.get(player.getUniqueId());
+            String[] content = render(rendered, fromIndex, toIndex);
+            if (content != null) {
+                updated.add(patchSharedBoard(obj, rendered, content));
+            }
         }
     }
 
-    private void updateLine(Objective objective, int index) {
-        if (objective.getScoreboard() == null) {
+    private void updateLine(Player player, Objective objective, int index) {
+        if (objective.getScoreboard() == null || index < 0 || index >= lines || !entries.containsKey(index)) {
             return;
         }
-        int line = lines - index;
-        String lineHex = Integer.toHexString(line);
-        Entry entry = entries.get(index);
-        if (entry.componentSupplier() == null) {
+        String[] rendered = renderedLines.computeIfAbsent(player.getUniqueId(), p -> new String[lines]);
+        if (sharedViewers.containsKey(objective)) {
+            String[] content = render(rendered, index, index + 1);
+            if (content != null) {
+                updateSharedBoard(player, objective, content);
+            }
             return;
         }
-        Team team = objective.getScoreboard().getTeam(entry.key());
+        String legacy = renderLine(index);
+        if (Objects.equals(legacy, rendered[index])) {
+            skippedCount++;
+            return;
+        }
+        sendLine(objective, rendered, index, legacy);
+    }
+
+    /**
+     * Renders the dynamic lines within the given range.
+     *
+     * @return the rendered content with all lines or null if none of the lines has changed.
+     */
+    private @Nullable String[] render(String[] rendered, int fromIndex, int toIndex) {
+        String[] content = null;
+        for (int i = fromIndex; i < toIndex; i++) {
+            if (!entries.containsKey(i)) {
+                continue;
+            }
+            String legacy = renderLine(i);
+            if (Objects.equals(legacy, rendered[i])) {
+                skippedCount++;
+                continue;
+            }
+            if (content == null) {
+                content = rendered.clone();
+            }
+            content[i] = legacy;
+        }
+        return content;
+    }
+
+    private @Nullable String renderLine(int index) {
+        Entry entry = entries.get(index);
+        if (entry == null || entry.componentSupplier() == null) {
+            return null;
+        }
+        ComponentLike component = entry.componentSupplier().get();
+        return component == null ? null : ChatUtils.toLegacy(component);
+    }
+
+    private Objective createBoard(String[] content) {
+        Scoreboard scoreboard = Bukkit.getScoreboardManager().getNewScoreboard();
+        Objective obj = scoreboard.registerNewObjective("GUI Framework", identifier, ChatUtils.toLegacy(title));
+        obj.setDisplaySlot(DisplaySlot.SIDEBAR);
+
+        String[] rendered = new String[lines];
+        for (int i = 0; i < lines; i++) {
+            int line = lines - i;
+            obj.getScore(getScoreString(line)).setScore(line);
+            if (content[i] != null) {
+                sendLine(obj, rendered, i, content[i]);
+            }
+        }
+        return obj;
+    }
+
+    private void sendLine(Objective objective, String[] rendered, int index, @Nullable String legacy) {
+        Team team = objective.getScoreboard().getTeam(identifier + index);
         if (team == null) {
-            team = objective.getScoreboard().registerNewTeam(entry.key());
+            team = objective.getScoreboard().registerNewTeam(identifier + index);
+        }
+        int line = lines - index;
+        String scoreString = getScoreString(line);
+        // Team entry and score only have to be set once, afterwards the prefix is the only thing that changes
+        if (rendered[index] == null) {
+            team.addEntry(scoreString);
+            objective.getScore(scoreString).setScore(line);
+        }
+        team.setPrefix(legacy == null ? "" : legacy);
+        rendered[index] = legacy;
+        sentCount++;
+    }
+
+    private void joinSharedBoard(Player player, String[] content) {
+        Objective obj = sharedBoards.get(Arrays.asList(content));
+        String[] rendered;
+        if (obj == null) {
+            obj = createBoard(content);
+            rendered = content.clone();
+            sharedBoards.put(Arrays.asList(content.clone()), obj);
+        } else {
+            rendered = renderedLines.get(sharedViewers.get(obj).iterator().next());
+        }
+        sharedViewers.computeIfAbsent(obj, o -> new HashSet<>()).add(player.getUniqueId());
+        scoreboards.put(player.getUniqueId(), obj);
+        renderedLines.put(player.getUniqueId(), rendered);
+    }
+
+    private void leaveSharedBoard(UUID viewer) {
+        Objective obj = scoreboards.remove(viewer);
+        String[] rendered = renderedLines.remove(viewer);
+        Set<UUID> viewers = obj == null ? null : sharedViewers.get(obj);
+        if (viewers == null) {
+            return;
+        }
+        viewers.remove(viewer);
+        if (viewers.isEmpty()) {
+            sharedViewers.remove(obj);
+            sharedBoards.remove(Arrays.asList(rendered), obj);
         }
-        ComponentLike toSet = entry.componentSupplier().get();
-        team.addEntry("§" + lineHex + ChatColor.WHITE + "");
-        team.setPrefix(ChatUtils.toLegacy(toSet));
-        objective.getScore("§" + lineHex + ChatColor.WHITE + "").setScore(line);
+    }
+
+    /**
+     * Updates the content of a single viewer of a shared board.
+     */
+    private void updateSharedBoard(Player player, Objective objective, String[] content) {
+        if (sharedViewers.get(objective).size() == 1) {
+            patchSharedBoard(objective, renderedLines.get(player.getUniqueId()), content);
+            return;
+        }
+        // Only the content of this viewer differs, so it leaves the other viewers and joins the viewers that see the
+        // same content or gets its own board
+        leaveSharedBoard(player.getUniqueId());
+        joinSharedBoard(player, content);
+        if (CustomScoreboardHandler.getInstance().isShown(player, this)) {
+            player.setScoreboard(scoreboards.get(player.getUniqueId()).getScoreboard());
+        }
+    }
+
+    /**
+     * Changes the content of a shared board for all of its viewers.
+     *
+     * @return the board that shows the content to the viewers from now on.
+     */
+    private Objective patchSharedBoard(Objective objective, String[] rendered, String[] content) {
+        Objective target = sharedBoards.get(Arrays.asList(content));
+        sharedBoards.remove(Arrays.asList(rendered), objective);
+        if (target == null) {
+            for (int i = 0; i < lines; i++) {
+                if (!Objects.equals(rendered[i], content[i])) {
+                    sendLine(objective, rendered, i, content[i]);
+                }
+            }
+            sharedBoards.put(Arrays.asList(rendered.clone()), objective);
+            return objective;
+        }
+        // Another board already shows the content, so the viewers of both boards share it from now on
+        Set<UUID> viewers = sharedViewers.get(target);
+        String[] targetRendered = renderedLines.get(viewers.iterator().next());
+        for (UUID uuid : sharedViewers.remove(objective)) {
+            viewers.add(uuid);
+            scoreboards.put(uuid, target);
+            renderedLines.put(uuid, targetRendered);
+            Player player = Bukkit.getPlayer(uuid);
+            if (player != null && CustomScoreboardHandler.getInstance().isShown(player, this)) {
+                player.setScoreboard(target.getScoreboard());
+            }
+        }
+        return target;
+    }
+
+    private String getScoreString(int line) {
+        return "§" + Integer.toHexString(line) + ChatColor.WHITE;
+    }
+
+    public void resetMetrics() {
+        sentCount = 0;
+        skippedCount = 0;
     }
 
     /**
@@ -195,11 +502,47 @@ public class CustomScoreboard {
      * @param player the player to hide this scoreboard from
      */
     public void hide(Player player) {
-        Objective obj = scoreboards.get(player);
-        if (obj != null && obj.getScoreboard() != null) {
+        UUID uuid = player.getUniqueId();
+        ScoreboardBackend backend = backends.remove(uuid);
+        Objective obj = scoreboards.get(uuid);
+        if (backend != null) {
+            backend.hide(player, this, renderedLines.get(uuid));
+        } else if (sharedViewers.containsKey(obj)) {
+            // Other viewers may still see the shared board, so only the player stops viewing it
+            player.setScoreboard(Bukkit.getScoreboardManager().getMainScoreboard());
+        } else if (obj != null && obj.getScoreboard() != null) {
             obj.getScoreboard().clearSlot(DisplaySlot.SIDEBAR);
         }
+        leaveSharedBoard(uuid);
+        ViewerRegistry.getInstance().detach(uuid, this);
         CustomScoreboardHandler.getInstance().unregisterScoreboard(player, this);
+        updateRefreshes();
+    }
+
+    @Override
+    public void releaseViewer(UUID viewer) {
+        // The viewer has quit, so nothing has to be sent
+        backends.remove(viewer);
+        leaveSharedBoard(viewer);
+        updateRefreshes();
+    }
+
+    /**
+     * Refreshes only run while this scoreboard has viewers, so that the {@link ScoreboardScheduler} does not keep
+     * scoreboards that are not shown anymore.
+     */
+    private void updateRefreshes() {
+        if (refreshes.isEmpty()) {
+            return;
+        }
+        ScoreboardScheduler scheduler = ScoreboardScheduler.getInstance();
+        for (ScoreboardScheduler.Refresh refresh : refreshes.values()) {
+            if (hasViewers()) {
+                scheduler.resume(refresh);
+            } else {
+                scheduler.pause(refresh);
+            }
+        }
     }
 
     /**
@@ -312,6 +655,36 @@ public class CustomScoreboard {
         this.entries.put(line, new Entry(identifier + line, entry));
     }
 
+    /**
+     * Registers a dynamic entry that is refreshed for all viewers in the given interval.
+     *
+     * @param line         the line to place the entry on
+     * @param entry        the supplier that will be called once the line is updated
+     * @param refreshTicks the amount of ticks between two refreshes of this line
+     * @see #setRefreshInterval(int, int)
+     */
+    public void setLine(int line, Supplier<ComponentLike> entry, int refreshTicks) {
+        setLine(line, entry);
+        setRefreshInterval(line, refreshTicks);
+    }
+
+    /**
+     * Refreshes a line for all viewers in the given interval. Refreshes of all scoreboards are spread across ticks by the
+     * {@link ScoreboardScheduler} and only take as much time per tick as its budget allows.
+     *
+     * @param line         the line to refresh
+     * @param refreshTicks the amount of ticks between two refreshes or 0 to stop refreshing the line
+     */
+    public void setRefreshInterval(int line, int refreshTicks) {
+        ScoreboardScheduler.Refresh refresh = refreshes.remove(line);
+        if (refresh != null) {
+            ScoreboardScheduler.getInstance().cancel(refresh);
+        }
+        if (refreshTicks > 0) {
+            refreshes.put(line, ScoreboardScheduler.getInstance().schedule(this, line, refreshTicks));
+        }
+    }
+
     /**
      * Sets the title of the scoreboard
      *
@@ -319,19 +692,32 @@ public class CustomScoreboard {
      */
     public void setTitle(ComponentLike component) {
         this.title = component;
+        String legacy = ChatUtils.toLegacy(component);
         for (Objective objective : scoreboards.values()) {
-            objective.setDisplayName(ChatUtils.toLegacy(component));
+            objective.setDisplayName(legacy);
         }
+        backends.forEach((uuid, backend) -> {
+            Player player = Bukkit.getPlayer(uuid);
+            if (player != null) {
+                backend.updateTitle(player, this, legacy);
+            }
+        });
     }
 
     /**
-     * Sets the title of this scoreboard for a specific player
+     * Sets the title of this scoreboard for a specific player. In shared mode, the title changes for all viewers that
+     * share the scoreboard with the player.
      *
      * @param component the title component
      * @param player    the player to set the scoreboard title for
      */
     public void setTitle(Component component, Player player) {
-        Objective objective = scoreboards.get(player);
+        ScoreboardBackend backend = backends.get(player.getUniqueId());
+        if (backend != null) {
+            backend.updateTitle(player, this, ChatUtils.toLegacy(component));
+            return;
+        }
+        Objective objective = scoreboards.get(player.getUniqueId());
         objective.setDisplayName(ChatUtils.toLegacy(component));
     }
 
@@ -355,13 +741,9 @@ public class CustomScoreboard {
      * @return the Animation instance
      */
     public Animation playAnimation(int line, int intervals, int ticks) {
-        Animation animation = new Animation(new int[]{line}, intervals, ticks, integer -> Arrays.stream(integer).forEach(t -> updateLine(getViewers(), t)));
+        Animation animation = new Animation(new int[]{line}, intervals, ticks, animationUpdate);
 
-        Collection<Animation> animations = this.animations.get(line);
-        if (animations == null) {
-            animations = new HashSet<>();
-        }
-        animations.add(animation);
+        this.animations.computeIfAbsent(line, integer -> new HashSet<>()).add(animation);
         animation.play();
 
         return animation;
@@ -1,17 +1,28 @@
 package de.cubbossa.menuframework.scoreboard;
 
+import de.cubbossa.menuframework.ViewerRegistry;
 import lombok.Getter;
+import lombok.Setter;
 import org.bukkit.entity.Player;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
 
-public class CustomScoreboardHandler {
+public class CustomScoreboardHandler implements ViewerRegistry.Attachment {
 
 	@Getter
 	private static CustomScoreboardHandler instance;
 
 	private final Map<UUID, Stack<CustomScoreboard>> scoreboards;
 
+	/**
+	 * The backend to render scoreboards with or null to render them with Bukkit scoreboards.
+	 * Only affects scoreboards that are shown after setting the backend.
+	 */
+	@Getter
+	@Setter
+	private @Nullable ScoreboardBackend backend;
+
 	public CustomScoreboardHandler() {
 		instance = this;
 		scoreboards = new HashMap<>();
@@ -30,23 +41,48 @@ public class CustomScoreboardHandler {
 		scoreboards.clear();
 	}
 
+	/**
+	 * @param player     the player to check
+	 * @param scoreboard the scoreboard to check
+	 * @return true if the given scoreboard is the top most scoreboard of the player and therefore visible.
+	 */
+	public boolean isShown(Player player, CustomScoreboard scoreboard) {
+		Stack<CustomScoreboard> stack = scoreboards.get(player.getUniqueId());
+		return stack != null && !stack.isEmpty() && stack.peek().equals(scoreboard);
+	}
+
 	protected void registerScoreboard(Player player, CustomScoreboard scoreboard) {
 		Stack<CustomScoreboard> stack = scoreboards.computeIfAbsent(player.getUniqueId(), k -> new Stack<>());
+		ViewerRegistry.getInstance().attach(player.getUniqueId(), this);
 		if (!stack.isEmpty() && stack.peek().equals(scoreboard)) {
 			return;
 		}
 		stack.push(scoreboard);
 	}
 
+	/**
+	 * @return The amount of players with at least one registered scoreboard.
+	 */
+	public int getViewerCount() {
+		return scoreboards.size();
+	}
+
+	@Override
+	public void releaseViewer(UUID viewer) {
+		scoreboards.remove(viewer);
+	}
+
 	protected void unregisterScoreboard(Player player, CustomScoreboard scoreboard) {
 		Stack<CustomScoreboard> stack = scoreboards.get(player.getUniqueId());
 		if (stack != null) {
 			stack.remove(scoreboard);
-			if (!stack.isEmpty()) {
-				CustomScoreboard toShow = stack.peek();
-				if (toShow != null) {
-					toShow.show(player);
-				}
+			if (stack.isEmpty()) {
+				scoreboards.remove(player.getUniqueId());
+				return;
+			}
+			CustomScoreboard toShow = stack.peek();
+			if (toShow != null) {
+				toShow.show(player);
 			}
 		}
 	}
@@ -0,0 +1,54 @@
+package de.cubbossa.menuframework.scoreboard;
+
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Renders {@link CustomScoreboard}s without Bukkit scoreboards, for example with packets.
+ * A backend can be set with {@link CustomScoreboardHandler#setBackend(ScoreboardBackend)}, otherwise scoreboards are
+ * rendered with one Bukkit {@link org.bukkit.scoreboard.Scoreboard} per viewer.
+ * <br>
+ * The {@link CustomScoreboard} keeps track of the lines that have been sent to each viewer and only calls the backend for
+ * lines that have changed, so backends don't need to store any state.
+ */
+public interface ScoreboardBackend {
+
+    /**
+     * Displays the scoreboard to a player.
+     *
+     * @param player     the player to show the scoreboard to
+     * @param scoreboard the scoreboard to show
+     * @param title      the title in legacy format
+     * @param lines      the text of each line in legacy format, null for empty lines
+     */
+    void show(Player player, CustomScoreboard scoreboard, String title, @Nullable String[] lines);
+
+    /**
+     * Changes the text of a line that has changed since it has last been sent.
+     *
+     * @param player     the player to update the line for
+     * @param scoreboard the scoreboard that the line belongs to
+     * @param index      the line index
+     * @param previous   the text that has last been sent for this line or null if the line was empty
+     * @param line       the new text of the line or null if the line is empty now
+     */
+    void updateLine(Player player, CustomScoreboard scoreboard, int index, @Nullable String previous, @Nullable String line);
+
+    /**
+     * Changes the title of the scoreboard.
+     *
+     * @param player     the player to update the title for
+     * @param scoreboard the scoreboard to update
+     * @param title      the new title in legacy format
+     */
+    void updateTitle(Player player, CustomScoreboard scoreboard, String title);
+
+    /**
+     * Removes the scoreboard from the player.
+     *
+     * @param player     the player to hide the scoreboard from
+     * @param scoreboard the scoreboard to hide
+     * @param lines      the text of each line that has last been sent, null for empty lines
+     */
+    void hide(Player player, CustomScoreboard scoreboard, @Nullable String[] lines);
+}
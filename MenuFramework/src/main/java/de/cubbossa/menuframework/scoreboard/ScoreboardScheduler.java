@@ -0,0 +1,235 @@
+package de.cubbossa.menuframework.scoreboard;
+
+import de.cubbossa.menuframework.GUIHandler;
+import lombok.Getter;
+import lombok.Setter;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.logging.Level;
+
+/**
+ * Refreshes scoreboard lines in their own intervals from one single scheduler task.
+ * <br>
+ * Lines with the same interval are spread across the ticks of their interval, so that not all lines of all scoreboards
+ * are due in the same tick. Due lines are updated viewer by viewer until the time budget of the tick is used up. All
+ * remaining updates are continued in the next tick, at least one update is made per tick. Viewers that share a
+ * scoreboard are updated together.
+ * <br>
+ * Refreshes of scoreboards without viewers are paused and removed from the scheduler, so that the scheduler does not keep
+ * unused scoreboards. They continue once the scoreboard is shown again.
+ * All methods must be called from the main thread.
+ */
+public class ScoreboardScheduler {
+
+    @Getter
+    private static ScoreboardScheduler instance;
+
+    public static class Refresh {
+        private final CustomScoreboard scoreboard;
+        private final int line;
+        private final int interval;
+        private long due;
+        private boolean cancelled = false;
+        private boolean paused = false;
+        // True while the refresh is waiting in the scheduler or in progress
+        private boolean queued = false;
+        // The viewers that still have to be updated while this refresh is in progress
+        private List<Player> pending = null;
+        private int pendingIndex = 0;
+
+        private Refresh(CustomScoreboard scoreboard, int line, int interval) {
+            this.scoreboard = scoreboard;
+            this.line = line;
+            this.interval = interval;
+        }
+    }
+
+    /**
+     * The time in nanoseconds that may be spent on line updates per tick.
+     */
+    @Getter
+    @Setter
+    private long tickBudgetNanos = 2_000_000;
+
+    @Getter
+    private long currentTick = 0;
+    /**
+     * The amount of line updates that have been made.
+     */
+    @Getter
+    private long updateCount = 0;
+    /**
+     * The amount of ticks in which the budget was used up before all due lines were updated.
+     */
+    @Getter
+    private long exceededCount = 0;
+    /**
+     * The longest time in nanoseconds that has been spent on line updates in one tick.
+     */
+    @Getter
+    private long maxTickNanos = 0;
+
+    private final PriorityQueue<Refresh> scheduled = new PriorityQueue<>(Comparator.comparingLong(r -> r.due));
+    private final Deque<Refresh> inProgress = new ArrayDeque<>();
+    private long registrations = 0;
+    private BukkitTask task;
+
+    public ScoreboardScheduler() {
+        instance = this;
+    }
+
+    /**
+     * Starts the scheduler task that refreshes all lines.
+     */
+    public void start() {
+        if (task == null || task.isCancelled()) {
+            task = Bukkit.getScheduler().runTaskTimer(GUIHandler.getInstance().getPlugin(), this::tick, 1, 1);
+        }
+    }
+
+    /**
+     * Stops the scheduler task. Refreshes keep their state and continue once the scheduler is started again.
+     */
+    public void stop() {
+        if (task != null && !task.isCancelled()) {
+            task.cancel();
+        }
+    }
+
+    /**
+     * Refreshes a line of a scoreboard for all of its viewers every few ticks.
+     *
+     * @param scoreboard the scoreboard to refresh
+     * @param line       the line to refresh
+     * @param interval   the amount of ticks between two refreshes
+     * @return the refresh handle to cancel the refresh with
+     */
+    public Refresh schedule(CustomScoreboard scoreboard, int line, int interval) {
+        Refresh refresh = new Refresh(scoreboard, line, Integer.max(interval, 1));
+        if (scoreboard.hasViewers()) {
+            enqueue(refresh);
+        } else {
+            refresh.paused = true;
+        }
+        return refresh;
+    }
+
+    public void cancel(Refresh refresh) {
+        // Removed lazily once it is due
+        refresh.cancelled = true;
+        refresh.pending = null;
+    }
+
+    /**
+     * Stops refreshing until {@link #resume(Refresh)} is called. Called once a scoreboard has no viewers anymore.
+     *
+     * @param refresh the refresh to pause
+     */
+    public void pause(Refresh refresh) {
+        // Removed lazily once it is due
+        refresh.paused = true;
+    }
+
+    /**
+     * Continues a paused refresh. Called once a scoreboard is shown.
+     *
+     * @param refresh the refresh to continue
+     */
+    public void resume(Refresh refresh) {
+        if (refresh.cancelled || !refresh.paused) {
+            return;
+        }
+        refresh.paused = false;
+        if (!refresh.queued) {
+            enqueue(refresh);
+        }
+    }
+
+    /**
+     * @return the amount of refreshes that are waiting or in progress. Paused and cancelled refreshes are removed once
+     * they are due.
+     */
+    public int getScheduledCount() {
+        return scheduled.size() + inProgress.size();
+    }
+
+    private void enqueue(Refresh refresh) {
+        // Spread refreshes with the same interval evenly across their interval
+        refresh.due = currentTick + 1 + registrations++ % refresh.interval;
+        refresh.queued = true;
+        scheduled.add(refresh);
+    }
+
+    /**
+     * Updates all lines that are due within the tick budget. Called by the scheduler task once per tick.
+     */
+    public void tick() {
+        long start = System.nanoTime();
+        currentTick++;
+        while (!scheduled.isEmpty() && scheduled.peek().due <= currentTick) {
+            Refresh refresh = scheduled.poll();
+            if (!refresh.scoreboard.hasViewers()) {
+                refresh.paused = true;
+            }
+            if (refresh.cancelled || refresh.paused) {
+                refresh.queued = false;
+                continue;
+            }
+            refresh.pending = refresh.scoreboard.getRefreshViewers();
+            refresh.pendingIndex = 0;
+            inProgress.add(refresh);
+        }
+
+        boolean progress = false;
+        while (!inProgress.isEmpty()) {
+            if (progress && System.nanoTime() - start >= tickBudgetNanos) {
+                exceededCount++;
+                break;
+            }
+            Refresh refresh = inProgress.peek();
+            if (refresh.cancelled || refresh.paused) {
+                inProgress.poll();
+                refresh.queued = false;
+                refresh.pending = null;
+                continue;
+            }
+            if (refresh.pendingIndex >= refresh.pending.size()) {
+                inProgress.poll();
+                refresh.pending = null;
+                reschedule(refresh);
+                continue;
+            }
+            Player player = refresh.pending.get(refresh.pendingIndex++);
+            // The player might have been removed while the refresh was in progress
+            if (refresh.scoreboard.isViewer(player)) {
+                try {
+                    refresh.scoreboard.refreshLine(player, refresh.line);
+                } catch (Throwable t) {
+                    GUIHandler.getInstance().getLogger().log(Level.SEVERE, "Error occured while refreshing scoreboard line", t);
+                }
+                updateCount++;
+                progress = true;
+            }
+        }
+        maxTickNanos = Long.max(maxTickNanos, System.nanoTime() - start);
+    }
+
+    private void reschedule(Refresh refresh) {
+        // Keep the cadence, but don't catch up on refreshes that have been missed because of the budget
+        refresh.due = Long.max(refresh.due + refresh.interval, currentTick + 1);
+        scheduled.add(refresh);
+    }
+
+    public void resetMetrics() {
+        updateCount = 0;
+        exceededCount = 0;
+        maxTickNanos = 0;
+    }
+}
@@ -1,14 +1,15 @@
 package de.cubbossa.menuframework.util;
 
-import de.cubbossa.menuframework.GUIHandler;
+import lombok.AccessLevel;
 import lombok.Getter;
-import org.bukkit.Bukkit;
-import org.bukkit.scheduler.BukkitTask;
 
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
-import java.util.logging.Level;
 
+/**
+ * Calls an update task for the given indices every few ticks. All animations are played by the {@link AnimationEngine},
+ * animations that share the same update task instance are updated together.
+ */
 @Getter
 public class Animation {
 
@@ -18,7 +19,8 @@ public class Animation {
     private final int ticks;
     private final Consumer<int[]> updateTask;
 
-    private BukkitTask task;
+    @Getter(AccessLevel.NONE)
+    private AnimationEngine.Entry entry;
 
     public Animation(int[] indices, int ticks, Consumer<int[]> updateTask) {
         this.indices = indices;
@@ -38,26 +40,17 @@ public class Animation {
      * Starts the animation
      */
     public void play() {
-        task = Bukkit.getScheduler().runTaskTimer(GUIHandler.getInstance().getPlugin(), () -> {
-            if (intervals == -1 || interval.get() < intervals) {
-                try {
-                    updateTask.accept(indices);
-                } catch (Throwable t) {
-                    GUIHandler.getInstance().getLogger().log(Level.SEVERE, "Error occured while playing animation in scoreboard", t);
-                }
-                interval.addAndGet(1);
-            } else {
-                stop();
-            }
-        }, 0, ticks);
+        stop();
+        entry = AnimationEngine.getInstance().schedule(this);
     }
 
     /**
      * Stops the animation
      */
     public void stop() {
-        if (task != null && !task.isCancelled()) {
-            task.cancel();
+        if (entry != null) {
+            AnimationEngine.getInstance().cancel(entry);
+            entry = null;
         }
     }
 
@@ -67,6 +60,13 @@ public class Animation {
      * @return true if the animation is running
      */
     public boolean isRunning() {
-        return !task.isCancelled();
+        return entry != null;
+    }
+
+    /**
+     * @return true if the animation has played all of its intervals.
+     */
+    public boolean isFinished() {
+        return intervals != -1 && interval.get() >= intervals;
     }
 }
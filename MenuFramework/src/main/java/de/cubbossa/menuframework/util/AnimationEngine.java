@@ -0,0 +1,180 @@
+package de.cubbossa.menuframework.util;
+
+import de.cubbossa.menuframework.GUIHandler;
+import lombok.Getter;
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+
+/**
+ * Plays all {@link Animation}s from one single scheduler task instead of one task per animation.
+ * <br>
+ * Animations are stored in a hashed timer wheel. Each tick only the bucket of the current tick is visited, so the costs
+ * of a tick depend on the animations that are due and not on all running animations. Animations that are due in the
+ * same tick and share the same update task are batched: their indices are merged and the update task is called once,
+ * so that a menu refreshes all of its animated slots together.
+ */
+public class AnimationEngine {
+
+    private static final int WHEEL_SIZE = 64;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+
+    @Getter
+    private static AnimationEngine instance;
+
+    static class Entry {
+        private final Animation animation;
+        private long deadline;
+        private boolean cancelled = false;
+
+        private Entry(Animation animation) {
+            this.animation = animation;
+        }
+    }
+
+    /**
+     * The distinct indices of all animations of one update task, negative indices are stored by their complement.
+     */
+    private static class Batch {
+        private final BitSet positive = new BitSet();
+        private final BitSet negative = new BitSet();
+
+        private void add(int index) {
+            if (index >= 0) {
+                positive.set(index);
+            } else {
+                negative.set(~index);
+            }
+        }
+
+        private int[] toArray() {
+            int[] result = new int[negative.cardinality() + positive.cardinality()];
+            int i = 0;
+            for (int bit = negative.length() - 1; bit >= 0; bit = negative.previousSetBit(bit - 1)) {
+                result[i++] = ~bit;
+            }
+            for (int bit = positive.nextSetBit(0); bit >= 0; bit = positive.nextSetBit(bit + 1)) {
+                result[i++] = bit;
+            }
+            return result;
+        }
+    }
+
+    private final List<Entry>[] wheel;
+    private final List<Entry> due = new ArrayList<>();
+    private final Map<Consumer<int[]>, Batch> batches = new IdentityHashMap<>();
+    @Getter
+    private long currentTick = 0;
+    @Getter
+    private int scheduledCount = 0;
+    private BukkitTask task;
+
+    @SuppressWarnings("unchecked")
+    public AnimationEngine() {
+        instance = this;
+        this.wheel = new List[WHEEL_SIZE];
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            wheel[i] = new ArrayList<>();
+        }
+    }
+
+    /**
+     * Starts the scheduler task that drives all animations.
+     */
+    public void start() {
+        if (task == null || task.isCancelled()) {
+            task = Bukkit.getScheduler().runTaskTimer(GUIHandler.getInstance().getPlugin(), this::tick, 1, 1);
+        }
+    }
+
+    /**
+     * Stops the scheduler task. Animations keep their state and continue once the engine is started again.
+     */
+    public void stop() {
+        if (task != null && !task.isCancelled()) {
+            task.cancel();
+        }
+    }
+
+    synchronized Entry schedule(Animation animation) {
+        Entry entry = new Entry(animation);
+        // The first frame is played on the next tick, just like a scheduler task with no delay.
+        insert(entry, 1);
+        return entry;
+    }
+
+    synchronized void cancel(Entry entry) {
+        // Removed lazily when its bucket is visited.
+        entry.cancelled = true;
+    }
+
+    private void insert(Entry entry, int delay) {
+        entry.deadline = currentTick + Integer.max(delay, 1);
+        wheel[(int) (entry.deadline & WHEEL_MASK)].add(entry);
+        scheduledCount++;
+    }
+
+    /**
+     * Plays all animations that are due in the next tick. Called by the scheduler task once per tick.
+     */
+    public void tick() {
+        synchronized (this) {
+            currentTick++;
+            List<Entry> bucket = wheel[(int) (currentTick & WHEEL_MASK)];
+            for (int i = bucket.size() - 1; i >= 0; i--) {
+                Entry entry = bucket.get(i);
+                if (!entry.cancelled && entry.deadline != currentTick) {
+                    continue;
+                }
+                // swap remove, the order within a bucket does not matter
+                bucket.set(i, bucket.get(bucket.size() - 1));
+                bucket.remove(bucket.size() - 1);
+                scheduledCount--;
+                if (!entry.cancelled) {
+                    due.add(entry);
+                }
+            }
+        }
+        if (due.isEmpty()) {
+            return;
+        }
+
+        for (Entry entry : due) {
+            Animation animation = entry.animation;
+            if (animation.isFinished()) {
+                animation.stop();
+                continue;
+            }
+            Batch batch = batches.computeIfAbsent(animation.getUpdateTask(), consumer -> new Batch());
+            for (int index : animation.getIndices()) {
+                batch.add(index);
+            }
+        }
+        batches.forEach((updateTask, batch) -> {
+            try {
+                updateTask.accept(batch.toArray());
+            } catch (Throwable t) {
+                GUIHandler.getInstance().getLogger().log(Level.SEVERE, "Error occured while playing animation", t);
+            }
+        });
+
+        synchronized (this) {
+            for (Entry entry : due) {
+                if (entry.cancelled) {
+                    continue;
+                }
+                entry.animation.getInterval().addAndGet(1);
+                insert(entry, entry.animation.getTicks());
+            }
+        }
+        due.clear();
+        batches.clear();
+    }
+}
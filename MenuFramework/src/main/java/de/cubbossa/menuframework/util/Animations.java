@@ -3,20 +3,31 @@ package de.cubbossa.menuframework.util;
 import com.google.common.base.Strings;
 
 import java.util.function.Function;
+import java.util.function.IntFunction;
 
 public class Animations {
 
     public static Function<Integer, String> textShift(String text, int spaceCount, boolean left) {
-        return integer -> {
-            int interval = text.length() + spaceCount;
-            int progress = left ? interval - (integer % interval) : integer % interval;
-            if (progress == 0) {
+        return textShiftFrames(text, spaceCount, left);
+    }
+
+    /**
+     * Shifts a text through its own length. All frames are computed once.
+     */
+    public static FrameRing<String> textShiftFrames(String text, int spaceCount, boolean left) {
+        int interval = text.length() + spaceCount;
+        if (interval == 0) {
+            return FrameRing.of(text);
+        }
+        String s = text + Strings.repeat(" ", spaceCount);
+        return FrameRing.compute(interval, integer -> {
+            int progress = left ? interval - integer : integer;
+            if (progress == 0 || progress == interval) {
                 return text;
             }
-            String s = text + Strings.repeat(" ", spaceCount);
             String result = s.substring(progress) + s.substring(0, progress);
             return result.substring(0, text.length());
-        };
+        });
     }
 
     public static Function<Integer, Double> randomProgress() {
@@ -24,24 +35,58 @@ public class Animations {
     }
 
     public static Function<Integer, Double> sinusProgress(int intervalSize, double amplitude) {
-        return integer -> Math.sin(Math.PI * 2 / intervalSize * integer) * amplitude + amplitude / 2;
+        return sinusProgressFrames(intervalSize, amplitude);
+    }
+
+    /**
+     * Precomputes one period of {@link #sinusProgress(int, double)}.
+     */
+    public static FrameRing<Double> sinusProgressFrames(int intervalSize, double amplitude) {
+        return FrameRing.compute(intervalSize, integer -> Math.sin(Math.PI * 2 / intervalSize * integer) * amplitude + amplitude / 2);
     }
 
     public static Function<Integer, Double> linearProgress(int intervalSize, double from, double to) {
-        return integer -> (integer % (double) intervalSize / intervalSize) * (to - from);
+        return linearProgressFrames(intervalSize, from, to);
+    }
+
+    /**
+     * Precomputes one period of {@link #linearProgress(int, double, double)}.
+     */
+    public static FrameRing<Double> linearProgressFrames(int intervalSize, double from, double to) {
+        return FrameRing.compute(intervalSize, integer -> (integer / (double) intervalSize) * (to - from));
     }
 
     public static Function<Integer, Double> ziczacProgress(int intervalSize, double from, double to) {
         return integer -> {
-            if (integer <= intervalSize / 2.) {
-                return linearProgress(intervalSize / 2 + intervalSize % 2, from, to).apply(integer);
-            } else {
-                return linearProgress(intervalSize / 2, from, to).apply(integer);
-            }
+            int size = integer <= intervalSize / 2. ? intervalSize / 2 + intervalSize % 2 : intervalSize / 2;
+            return (integer % (double) size / size) * (to - from);
         };
     }
 
     public static Function<Integer, Double> bounceProgress(int intervalSize, double from, double to) {
-        return integer -> Math.abs(Math.sin(Math.PI * 2 / intervalSize * integer)) * (to - from) + from + (to < from ? 1 : 0);
+        return bounceProgressFrames(intervalSize, from, to);
+    }
+
+    /**
+     * Precomputes one period of {@link #bounceProgress(int, double, double)}.
+     */
+    public static FrameRing<Double> bounceProgressFrames(int intervalSize, double from, double to) {
+        return FrameRing.compute(intervalSize, integer -> Math.abs(Math.sin(Math.PI * 2 / intervalSize * integer)) * (to - from) + from + (to < from ? 1 : 0));
+    }
+
+    /**
+     * Resolves the frame of an animation function. Functions that also accept primitive intervals, like
+     * {@link FrameRing}, are called without boxing the interval.
+     *
+     * @param animation The animation function.
+     * @param interval  The current interval of the animation.
+     * @return The frame for the given interval.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T frame(Function<Integer, T> animation, int interval) {
+        if (animation instanceof IntFunction) {
+            return ((IntFunction<T>) animation).apply(interval);
+        }
+        return animation.apply(interval);
     }
 }
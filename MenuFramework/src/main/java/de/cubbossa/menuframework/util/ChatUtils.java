@@ -1,5 +1,6 @@
 package de.cubbossa.menuframework.util;
 
+import lombok.Getter;
 import lombok.experimental.UtilityClass;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.ComponentLike;
@@ -34,6 +35,20 @@ public class ChatUtils {
 
 	private static final PlainTextComponentSerializer PLAIN_SERIALIZER = PlainTextComponentSerializer.builder().build();
 
+	/**
+	 * Caches the results of {@link #toLegacy(ComponentLike)}. Disabled by default, enable it with
+	 * {@link de.cubbossa.menuframework.GUIHandler#setSerializerCacheSize(int)}.
+	 */
+	@Getter
+	private static final SerializerCache legacyCache = new SerializerCache(LEGACY_SERIALIZER::serialize, 0);
+
+	/**
+	 * Caches the results of {@link #toGson(ComponentLike)}. Disabled by default, enable it with
+	 * {@link de.cubbossa.menuframework.GUIHandler#setSerializerCacheSize(int)}.
+	 */
+	@Getter
+	private static final SerializerCache gsonCache = new SerializerCache(GSON_SERIALZIER::serialize, 0);
+
 	public static final String DURATION_FORMAT = new DurationParser(true).format(0);
 
 	public static final String DATE_TIME_FORMAT_SHORT = "dd.MM.yy HH:mm";
@@ -56,7 +71,7 @@ public class ChatUtils {
 	}
 
 	public String toLegacy(ComponentLike component) {
-		return LEGACY_SERIALIZER.serialize(component.asComponent());
+		return legacyCache.serialize(component.asComponent());
 	}
 
 	public String toPlain(ComponentLike component) {
@@ -64,7 +79,7 @@ public class ChatUtils {
 	}
 
 	public String toGson(ComponentLike component) {
-		return GSON_SERIALZIER.serialize(component.asComponent());
+		return gsonCache.serialize(component.asComponent());
 	}
 
 	public String formatDuration(Duration duration) {
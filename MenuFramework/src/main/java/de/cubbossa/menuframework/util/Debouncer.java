@@ -0,0 +1,132 @@
+package de.cubbossa.menuframework.util;
+
+import de.cubbossa.menuframework.GUIHandler;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Delays values per key and only delivers the latest value after no new value has been submitted for a given amount of ticks.
+ * Values that are replaced while waiting are dropped. All methods must be called from the main thread.
+ *
+ * @param <K> The key type, for example the uuid of a player.
+ * @param <V> The value type.
+ */
+@Getter
+public class Debouncer<K, V> {
+
+    /**
+     * The amount of ticks to wait for further values. 0 or less delivers every value immediately.
+     */
+    @Setter
+    private int delayTicks;
+    private long deliveredCount = 0;
+    private long droppedCount = 0;
+    private long totalLatencyNanos = 0;
+    private long maxLatencyNanos = 0;
+
+    @Getter(AccessLevel.NONE)
+    private final Map<K, BukkitTask> pending = new HashMap<>();
+    @Getter(AccessLevel.NONE)
+    private final Map<K, V> latest = new HashMap<>();
+
+    public Debouncer(int delayTicks) {
+        this.delayTicks = delayTicks;
+    }
+
+    /**
+     * Submits a new value for the given key and drops the value that is still waiting for this key.
+     *
+     * @param key      The key to debounce values for.
+     * @param value    The new value.
+     * @param consumer Will be called with the value if it has not been replaced when the delay ends.
+     */
+    public void submit(K key, V value, Consumer<V> consumer) {
+        long submitted = System.nanoTime();
+        latest.put(key, value);
+        BukkitTask previous = pending.remove(key);
+        if (previous != null) {
+            previous.cancel();
+            droppedCount++;
+        }
+        if (delayTicks <= 0) {
+            deliver(submitted, value, consumer);
+            return;
+        }
+        BukkitTask task = Bukkit.getScheduler().runTaskLater(GUIHandler.getInstance().getPlugin(), () -> {
+            pending.remove(key);
+            deliver(submitted, value, consumer);
+        }, delayTicks);
+        pending.put(key, task);
+    }
+
+    private void deliver(long submitted, V value, Consumer<V> consumer) {
+        long latency = System.nanoTime() - submitted;
+        deliveredCount++;
+        totalLatencyNanos += latency;
+        maxLatencyNanos = Long.max(maxLatencyNanos, latency);
+        consumer.accept(value);
+    }
+
+    /**
+     * Use this to discard results of work that has been started for a value, for example an asynchronous database query.
+     *
+     * @param key   The key of the value.
+     * @param value The value to check.
+     * @return true if the given value is the latest value that has been submitted for the key.
+     */
+    public boolean isLatest(K key, V value) {
+        return latest.containsKey(key) && Objects.equals(latest.get(key), value);
+    }
+
+    /**
+     * @param key   The key of the value.
+     * @param value The value to check.
+     * @return true if another value has been submitted for the key in the meantime or if the key has been cancelled.
+     */
+    public boolean isOutdated(K key, V value) {
+        return !isLatest(key, value);
+    }
+
+    /**
+     * Drops the waiting value of the given key and forgets its latest value.
+     *
+     * @param key The key to cancel.
+     */
+    public void cancel(K key) {
+        latest.remove(key);
+        BukkitTask previous = pending.remove(key);
+        if (previous != null) {
+            previous.cancel();
+            droppedCount++;
+        }
+    }
+
+    /**
+     * @return The average time between submitting and delivering a value in milliseconds.
+     */
+    public double getAverageLatencyMillis() {
+        return deliveredCount == 0 ? 0 : totalLatencyNanos / (double) deliveredCount / 1_000_000;
+    }
+
+    /**
+     * @return The longest time between submitting and delivering a value in milliseconds.
+     */
+    public double getMaxLatencyMillis() {
+        return maxLatencyNanos / 1_000_000d;
+    }
+
+    public void resetMetrics() {
+        deliveredCount = 0;
+        droppedCount = 0;
+        totalLatencyNanos = 0;
+        maxLatencyNanos = 0;
+    }
+}
@@ -0,0 +1,109 @@
+package de.cubbossa.menuframework.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+/**
+ * A looping animation whose frames are computed once. Playing the animation only resolves the frame index, so frames
+ * like strings, components or item stacks are not recreated on every tick.
+ * <br>
+ * Frame rings are functions of the animation interval, so they can be used wherever an animation function is expected.
+ * They also accept primitive intervals, see {@link Animations#frame(Function, int)}.
+ *
+ * @param <T> The frame type.
+ */
+public class FrameRing<T> implements Function<Integer, T>, IntFunction<T> {
+
+    private final T[] frames;
+
+    private FrameRing(T[] frames) {
+        if (frames.length == 0) {
+            throw new IllegalArgumentException("A frame ring requires at least one frame.");
+        }
+        this.frames = frames;
+    }
+
+    /**
+     * @param frames All frames in the order they are played.
+     * @return A frame ring of the given frames.
+     */
+    @SafeVarargs
+    public static <T> FrameRing<T> of(T... frames) {
+        return new FrameRing<>(frames.clone());
+    }
+
+    /**
+     * @param frames All frames in the order they are played.
+     * @return A frame ring of the given frames.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> FrameRing<T> of(Collection<T> frames) {
+        return new FrameRing<>((T[]) frames.toArray());
+    }
+
+    /**
+     * Precomputes a periodic animation.
+     *
+     * @param length The amount of frames until the animation repeats.
+     * @param frame  The function to compute the frame for an interval from 0 to length - 1.
+     * @return A frame ring with all computed frames.
+     */
+    public static <T> FrameRing<T> compute(int length, IntFunction<T> frame) {
+        if (length <= 0) {
+            throw new IllegalArgumentException("A frame ring requires at least one frame.");
+        }
+        List<T> frames = new ArrayList<>(length);
+        for (int i = 0; i < length; i++) {
+            frames.add(frame.apply(i));
+        }
+        return of(frames);
+    }
+
+    /**
+     * Converts all frames once, for example from strings to components.
+     *
+     * @param mapper The function to convert each frame with.
+     * @return A new frame ring with the converted frames.
+     */
+    public <R> FrameRing<R> map(Function<T, R> mapper) {
+        List<R> mapped = new ArrayList<>(frames.length);
+        for (T frame : frames) {
+            mapped.add(mapper.apply(frame));
+        }
+        return of(mapped);
+    }
+
+    /**
+     * @param interval The current interval of the animation, may exceed the amount of frames.
+     * @return The frame to display for the given interval.
+     */
+    public T get(int interval) {
+        return frames[Math.floorMod(interval, frames.length)];
+    }
+
+    @Override
+    public T apply(int interval) {
+        return get(interval);
+    }
+
+    @Override
+    public T apply(Integer interval) {
+        return get(interval);
+    }
+
+    /**
+     * @return The amount of frames until the animation repeats.
+     */
+    public int size() {
+        return frames.length;
+    }
+
+    @Override
+    public String toString() {
+        return "FrameRing" + Arrays.toString(frames);
+    }
+}
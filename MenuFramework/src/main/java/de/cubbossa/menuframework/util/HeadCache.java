@@ -0,0 +1,196 @@
+package de.cubbossa.menuframework.util;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import de.cubbossa.menuframework.GUIHandler;
+import lombok.Getter;
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.SkullMeta;
+import org.bukkit.profile.PlayerProfile;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+
+/**
+ * Caches the profiles and head items of players by their uuid, so that rendering player heads does not have to resolve
+ * the skin of the player on every render.
+ * <br>
+ * Profiles of online players are taken from the player itself. Profiles of offline players are resolved
+ * asynchronously, the head is displayed without skin until the profile has been resolved. The profiles of joining
+ * players are cached when they join, their heads are created once they are rendered. Heads are evicted once they have
+ * not been used for a while or the cache is full, profiles expire after a while so that skin changes become visible.
+ * <br>
+ * The profile api has been added in Minecraft 1.18.1, check {@link #isSupported()} before creating a head cache.
+ */
+public class HeadCache implements Listener {
+
+    @Getter
+    private static HeadCache instance;
+
+    private final Cache<UUID, PlayerProfile> profiles;
+    private final Cache<UUID, ItemStack> heads;
+    private final AtomicLong resolveCount = new AtomicLong();
+    private CacheStats baseline = new CacheStats(0, 0, 0, 0, 0, 0);
+
+    public HeadCache() {
+        this(1024, Duration.ofMinutes(30), Duration.ofMinutes(10));
+    }
+
+    /**
+     * @param maximumSize   The maximum amount of cached profiles and heads.
+     * @param profileExpiry The time after which cached profiles are resolved again.
+     * @param headExpiry    The time after which unused heads are evicted.
+     */
+    public HeadCache(int maximumSize, Duration profileExpiry, Duration headExpiry) {
+        instance = this;
+        this.profiles = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(profileExpiry.toMillis(), TimeUnit.MILLISECONDS)
+                .build();
+        this.heads = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(headExpiry.toMillis(), TimeUnit.MILLISECONDS)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * @return true if the server provides the player profile api that this cache requires.
+     */
+    public static boolean isSupported() {
+        try {
+            Class.forName("org.bukkit.profile.PlayerProfile");
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    /**
+     * @param player The owner of the head.
+     * @return A new player head item with the skin of the given player.
+     */
+    public ItemStack getHead(OfflinePlayer player) {
+        ItemStack head = heads.getIfPresent(player.getUniqueId());
+        if (head == null) {
+            head = createHead(player, getProfile(player));
+            heads.put(player.getUniqueId(), head);
+        }
+        return head.clone();
+    }
+
+    /**
+     * @param player The player to get the profile for.
+     * @return The cached profile or the profile of the player, which is resolved asynchronously if it has no textures.
+     */
+    public PlayerProfile getProfile(OfflinePlayer player) {
+        PlayerProfile profile = profiles.getIfPresent(player.getUniqueId());
+        if (profile != null) {
+            return profile;
+        }
+        Player online = player.getPlayer();
+        if (online != null) {
+            profile = online.getPlayerProfile();
+            profiles.put(player.getUniqueId(), profile);
+            return profile;
+        }
+        profile = Bukkit.createPlayerProfile(player.getUniqueId(), player.getName());
+        // Cache the incomplete profile, so that the profile is only resolved once
+        profiles.put(player.getUniqueId(), profile);
+        resolve(profile);
+        return profile;
+    }
+
+    /**
+     * Removes the cached profile and head of a player, for example after the player has changed the skin.
+     *
+     * @param uuid The uuid of the player.
+     */
+    public void invalidate(UUID uuid) {
+        profiles.invalidate(uuid);
+        heads.invalidate(uuid);
+    }
+
+    public void invalidateAll() {
+        profiles.invalidateAll();
+        heads.invalidateAll();
+    }
+
+    /**
+     * @return The amount of profiles that have been resolved because they were not cached and had no textures.
+     */
+    public long getResolveCount() {
+        return resolveCount.get();
+    }
+
+    /**
+     * @return The amount of heads that have been served from the cache.
+     */
+    public long getHitCount() {
+        return stats().hitCount();
+    }
+
+    /**
+     * @return The amount of heads that had to be created.
+     */
+    public long getMissCount() {
+        return stats().missCount();
+    }
+
+    public synchronized void resetMetrics() {
+        baseline = heads.stats();
+        resolveCount.set(0);
+    }
+
+    private synchronized CacheStats stats() {
+        return heads.stats().minus(baseline);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onJoin(PlayerJoinEvent event) {
+        // Players must only be accessed from the main thread, the head is created on its first render
+        Player player = event.getPlayer();
+        profiles.put(player.getUniqueId(), player.getPlayerProfile());
+    }
+
+    private void resolve(PlayerProfile profile) {
+        if (profile.isComplete() && !profile.getTextures().isEmpty()) {
+            return;
+        }
+        resolveCount.incrementAndGet();
+        profile.update().whenComplete((resolved, t) -> {
+            if (t != null) {
+                GUIHandler.getInstance().getLogger().log(Level.WARNING, "Could not resolve profile of " + profile.getUniqueId(), t);
+                return;
+            }
+            profiles.put(resolved.getUniqueId(), resolved);
+            // The head has been created without skin, create it again with the resolved profile
+            heads.invalidate(resolved.getUniqueId());
+        });
+    }
+
+    private ItemStack createHead(OfflinePlayer player, PlayerProfile profile) {
+        ItemStack head = new ItemStack(Material.PLAYER_HEAD, 1);
+        SkullMeta meta = (SkullMeta) head.getItemMeta();
+        // Without a name the profile cannot be applied, fall back to the uuid of the owner
+        if (profile.getName() == null) {
+            meta.setOwningPlayer(player);
+        } else {
+            meta.setOwnerProfile(profile);
+        }
+        head.setItemMeta(meta);
+        return head;
+    }
+}
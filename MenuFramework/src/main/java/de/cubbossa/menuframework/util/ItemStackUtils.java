@@ -16,7 +16,10 @@ import java.util.stream.Collectors;
 public class ItemStackUtils {
 
 	public ItemStack createItemStack(Material material, Component name, @Nullable List<Component> lore) {
-		ItemStack stack = new ItemStack(material);
+		return setNameAndLore(new ItemStack(material), name, lore);
+	}
+
+	public ItemStack setNameAndLore(ItemStack stack, Component name, @Nullable List<Component> lore) {
 		ItemMeta meta = stack.getItemMeta();
 		meta.setDisplayName(ChatUtils.toLegacy(name));
 		if (lore != null) {
@@ -27,10 +30,18 @@ public class ItemStackUtils {
 	}
 
 	public ItemStack createCustomHead(OfflinePlayer player) {
+		HeadCache cache = HeadCache.getInstance();
+		if (cache != null) {
+			return cache.getHead(player);
+		}
 		return createCustomHead(new ItemStack(Material.PLAYER_HEAD, 1), player);
 	}
 
 	public ItemStack createCustomHead(OfflinePlayer player, Component name, List<Component> lore) {
+		HeadCache cache = HeadCache.getInstance();
+		if (cache != null) {
+			return setNameAndLore(cache.getHead(player), name, lore);
+		}
 		return createCustomHead(createItemStack(Material.PLAYER_HEAD, name, lore), player);
 	}
 
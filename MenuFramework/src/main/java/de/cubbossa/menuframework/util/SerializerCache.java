@@ -0,0 +1,125 @@
+package de.cubbossa.menuframework.util;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import lombok.Getter;
+import net.kyori.adventure.text.Component;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.function.Function;
+
+/**
+ * Memoizes the serialization of components. Components are immutable and compared by equality, so equal components
+ * that are created on each render are only serialized once.
+ * <br>
+ * The cache is bounded and evicts the least recently used entries once its maximum size is reached. A maximum size of 0
+ * disables the cache. This class is thread safe.
+ */
+public class SerializerCache {
+
+    private final Function<Component, String> serializer;
+    private volatile @Nullable Cache<Component, String> cache;
+    private CacheStats baseline = new CacheStats(0, 0, 0, 0, 0, 0);
+
+    /**
+     * The maximum amount of cached serializations. 0 if the cache is disabled.
+     */
+    @Getter
+    private int maximumSize;
+
+    public SerializerCache(Function<Component, String> serializer, int maximumSize) {
+        this.serializer = serializer;
+        setMaximumSize(maximumSize);
+    }
+
+    /**
+     * Sets the maximum amount of cached serializations. Changing the size clears the cache and resets all metrics.
+     *
+     * @param maximumSize The maximum amount of cached serializations or 0 to disable the cache.
+     */
+    public synchronized void setMaximumSize(int maximumSize) {
+        if (maximumSize < 0) {
+            throw new IllegalArgumentException("Maximum size must not be negative.");
+        }
+        this.maximumSize = maximumSize;
+        this.cache = maximumSize == 0 ? null : CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+        this.baseline = new CacheStats(0, 0, 0, 0, 0, 0);
+    }
+
+    /**
+     * @param component The component to serialize.
+     * @return The cached serialization or the serialization of the serializer if the component was not cached yet.
+     */
+    public String serialize(Component component) {
+        Cache<Component, String> cache = this.cache;
+        if (cache == null) {
+            return serializer.apply(component);
+        }
+        String serialized = cache.getIfPresent(component);
+        if (serialized == null) {
+            serialized = serializer.apply(component);
+            cache.put(component, serialized);
+        }
+        return serialized;
+    }
+
+    /**
+     * Removes all cached serializations.
+     */
+    public void invalidateAll() {
+        Cache<Component, String> cache = this.cache;
+        if (cache != null) {
+            cache.invalidateAll();
+        }
+    }
+
+    /**
+     * @return The amount of currently cached serializations.
+     */
+    public long getSize() {
+        Cache<Component, String> cache = this.cache;
+        return cache == null ? 0 : cache.size();
+    }
+
+    /**
+     * @return The amount of serializations that have been served from the cache.
+     */
+    public long getHitCount() {
+        return stats().hitCount();
+    }
+
+    /**
+     * @return The amount of serializations that were not cached and had to be serialized.
+     */
+    public long getMissCount() {
+        return stats().missCount();
+    }
+
+    /**
+     * @return The amount of serializations that have been evicted because the cache was full.
+     */
+    public long getEvictionCount() {
+        return stats().evictionCount();
+    }
+
+    /**
+     * @return The ratio of cache hits to all cache requests or 1 if the cache has not been used yet.
+     */
+    public double getHitRate() {
+        return stats().hitRate();
+    }
+
+    public synchronized void resetMetrics() {
+        if (cache != null) {
+            baseline = cache.stats();
+        }
+    }
+
+    private synchronized CacheStats stats() {
+        return cache == null ? baseline : cache.stats().minus(baseline);
+    }
+}
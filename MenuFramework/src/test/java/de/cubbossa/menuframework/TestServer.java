@@ -0,0 +1,678 @@
+package de.cubbossa.menuframework;
+
+import de.cubbossa.menuframework.inventory.InvMenuHandler;
+import de.cubbossa.menuframework.scoreboard.CustomScoreboardHandler;
+import de.cubbossa.menuframework.scoreboard.ScoreboardScheduler;
+import de.cubbossa.menuframework.util.AnimationEngine;
+import org.bukkit.Bukkit;
+import org.bukkit.NamespacedKey;
+import org.bukkit.Server;
+import org.bukkit.boss.BarColor;
+import org.bukkit.boss.BarStyle;
+import org.bukkit.boss.BossBar;
+import org.bukkit.boss.KeyedBossBar;
+import org.bukkit.entity.Player;
+import org.bukkit.event.inventory.InventoryType;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemFactory;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.Damageable;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.inventory.meta.SkullMeta;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.plugin.PluginDescriptionFile;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.plugin.java.JavaPluginLoader;
+import org.bukkit.profile.PlayerProfile;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.bukkit.scheduler.BukkitTask;
+import org.bukkit.scoreboard.Objective;
+import org.bukkit.scoreboard.Scoreboard;
+import org.bukkit.scoreboard.ScoreboardManager;
+import org.bukkit.scoreboard.Team;
+
+import java.io.File;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Logger;
+
+/**
+ * A minimal Bukkit server for tests that need menus, items or players.
+ * <br>
+ * All server objects are dynamic proxies. Methods that are not implemented here do nothing and return a default value,
+ * methods that return another interface of the Bukkit API return a stub of that interface. Scheduled tasks are queued
+ * until {@link #runTasks()} is called or until they are cancelled. Inventories count their
+ * {@link Inventory#setItem(int, ItemStack)} calls.
+ */
+public class TestServer {
+
+    private static final Logger LOGGER = Logger.getLogger("TestServer");
+    private static final Map<UUID, Player> players = new LinkedHashMap<>();
+    private static final Queue<Runnable> tasks = new ArrayDeque<>();
+    private static final Object[] NO_ARGS = new Object[0];
+    private static final Map<Class<?>, Object> PRIMITIVE_DEFAULTS = Map.of(
+            boolean.class, false, char.class, '\0', byte.class, (byte) 0, short.class, (short) 0,
+            int.class, 0, long.class, 0L, float.class, 0f, double.class, 0d);
+
+    private static JavaPlugin plugin;
+
+    /**
+     * Installs the test server once and resets all handlers, players and queued tasks.
+     */
+    public static void install() {
+        if (Bukkit.getServer() == null) {
+            Bukkit.setServer(proxy(Server.class, new ServerHandler()));
+            plugin = new TestPlugin();
+        }
+        players.clear();
+        tasks.clear();
+        new GUIHandler(plugin).setExceptionHandler(e -> {
+            throw new RuntimeException(e);
+        });
+        new ViewerRegistry();
+        new InvMenuHandler();
+        new CustomScoreboardHandler();
+        new ScoreboardScheduler();
+        new AnimationEngine();
+    }
+
+    public static JavaPlugin getPlugin() {
+        return plugin;
+    }
+
+    /**
+     * @return A new online player that can be found with {@link Bukkit#getPlayer(UUID)}.
+     */
+    public static Player addPlayer(String name) {
+        UUID uuid = UUID.randomUUID();
+        Player player = proxy(Player.class, new PlayerHandler(uuid, name));
+        players.put(uuid, player);
+        return player;
+    }
+
+    public static void removePlayer(Player player) {
+        players.remove(player.getUniqueId());
+    }
+
+    /**
+     * Runs all queued tasks, including tasks that are scheduled while running.
+     *
+     * @return The amount of tasks that have been run.
+     */
+    public static int runTasks() {
+        int count = 0;
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            task.run();
+            count++;
+        }
+        return count;
+    }
+
+    public static int getQueuedTaskCount() {
+        return tasks.size();
+    }
+
+    public static Inventory createInventory(int size) {
+        return proxy(Inventory.class, new InventoryHandler(size));
+    }
+
+    /**
+     * @return The amount of {@link Inventory#setItem(int, ItemStack)} calls on an inventory of this server.
+     */
+    public static int getSetItemCount(Inventory inventory) {
+        return ((InventoryHandler) Proxy.getInvocationHandler(inventory)).setItemCount;
+    }
+
+    public static void resetSetItemCount(Inventory inventory) {
+        ((InventoryHandler) Proxy.getInvocationHandler(inventory)).setItemCount = 0;
+    }
+
+    /**
+     * @return The amount of title, progress, color and style updates that have been sent to the viewers of a boss bar
+     * of this server.
+     */
+    public static int getBossBarUpdateCount(BossBar bossBar) {
+        return ((BossBarHandler) Proxy.getInvocationHandler(bossBar)).updateCount;
+    }
+
+    /**
+     * @return The amount of {@link Player#setScoreboard(Scoreboard)} calls of a player of this server.
+     */
+    public static int getSetScoreboardCount(Player player) {
+        return ((PlayerHandler) Proxy.getInvocationHandler(player)).setScoreboardCount;
+    }
+
+    /**
+     * Item meta of all materials. The clone method of both interfaces has to be overridden with a common return type.
+     */
+    public interface ItemMetaStub extends SkullMeta, Damageable {
+        @Override
+        ItemMetaStub clone();
+    }
+
+    private static class TestPlugin extends JavaPlugin {
+
+        @SuppressWarnings("deprecation")
+        TestPlugin() {
+            super(new JavaPluginLoader(Bukkit.getServer()),
+                    new PluginDescriptionFile("MenuFramework", "test", TestPlugin.class.getName()),
+                    new File("target/test-plugin"), new File("target/test-plugin.jar"));
+        }
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(TestServer.class.getClassLoader(), new Class[]{type}, handler));
+    }
+
+    private static class Stub implements InvocationHandler {
+
+        private final Map<Method, Object> children = new HashMap<>();
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getDeclaringClass() == Object.class) {
+                switch (method.getName()) {
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    default:
+                        return getClass().getSimpleName() + "@" + Integer.toHexString(System.identityHashCode(proxy));
+                }
+            }
+            return handle(proxy, method, args == null ? NO_ARGS : args);
+        }
+
+        Object handle(Object proxy, Method method, Object[] args) throws Throwable {
+            Class<?> type = method.getReturnType();
+            if (type.isInterface() && type.getName().startsWith("org.bukkit")) {
+                return children.computeIfAbsent(method, m -> proxy(type, new Stub()));
+            }
+            return defaultValue(type);
+        }
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (type.isPrimitive()) {
+            return PRIMITIVE_DEFAULTS.get(type);
+        }
+        if (type == List.class || type == Collection.class) {
+            return Collections.emptyList();
+        }
+        if (type == Set.class) {
+            return Collections.emptySet();
+        }
+        if (type == Map.class) {
+            return Collections.emptyMap();
+        }
+        if (type == Optional.class) {
+            return Optional.empty();
+        }
+        return null;
+    }
+
+    private static class ServerHandler extends Stub {
+
+        private final ItemFactory itemFactory = proxy(ItemFactory.class, new ItemFactoryHandler());
+        private final BukkitScheduler scheduler = proxy(BukkitScheduler.class, new SchedulerHandler());
+        private final ScoreboardManager scoreboardManager = proxy(ScoreboardManager.class, new ScoreboardManagerHandler());
+
+        @Override
+        Object handle(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "getLogger":
+                    return LOGGER;
+                case "getName":
+                    return "TestServer";
+                case "getVersion":
+                case "getBukkitVersion":
+                    return "test";
+                case "getItemFactory":
+                    return itemFactory;
+                case "getScheduler":
+                    return scheduler;
+                case "getScoreboardManager":
+                    return scoreboardManager;
+                case "isPrimaryThread":
+                    return true;
+                case "getOnlinePlayers":
+                    return Collections.unmodifiableCollection(players.values());
+                case "getPlayer":
+                    if (args[0] instanceof UUID) {
+                        return players.get(args[0]);
+                    }
+                    return players.values().stream().filter(p -> p.getName().equals(args[0])).findAny().orElse(null);
+                case "createInventory":
+                    return createInventory(args[1] instanceof InventoryType
+                            ? ((InventoryType) args[1]).getDefaultSize()
+                            : (int) args[1]);
+                case "createBossBar":
+                    return proxy(KeyedBossBar.class, new BossBarHandler((NamespacedKey) args[0], (String) args[1],
+                            (BarColor) args[2], (BarStyle) args[3]));
+                case "createPlayerProfile":
+                    UUID uuid = args[0] instanceof UUID ? (UUID) args[0] : null;
+                    String name = args[args.length - 1] instanceof String ? (String) args[args.length - 1] : null;
+                    return proxy(PlayerProfile.class, new ProfileHandler(uuid, name));
+                default:
+                    return super.handle(proxy, method, args);
+            }
+        }
+    }
+
+    private static class SchedulerHandler extends Stub {
+
+        @Override
+        Object handle(Object proxy, Method method, Object[] args) throws Throwable {
+            if (args.length > 1 && args[1] instanceof Runnable) {
+                Runnable runnable = (Runnable) args[1];
+                tasks.add(runnable);
+                if (method.getReturnType() == BukkitTask.class) {
+                    return proxy(BukkitTask.class, new TaskHandler(runnable));
+                }
+            }
+            return super.handle(proxy, method, args);
+        }
+    }
+
+    private static class TaskHandler extends Stub {
+
+        private final Runnable runnable;
+        private boolean cancelled = false;
+
+        TaskHandler(Runnable runnable) {
+            this.runnable = runnable;
+        }
+
+        @Override
+        Object handle(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "cancel":
+                    cancelled = true;
+                    tasks.remove(runnable);
+                    return null;
+                case "isCancelled":
+                    return cancelled;
+                default:
+                    return super.handle(proxy, method, args);
+            }
+        }
+    }
+
+    private static class PlayerHandler extends Stub {
+
+        private final UUID uuid;
+        private final String name;
+        private PlayerProfile profile;
+        private Scoreboard scoreboard;
+        private int setScoreboardCount = 0;
+
+        PlayerHandler(UUID uuid, String name) {
+            this.uuid = uuid;
+            this.name = name;
+        }
+
+        @Override
+        Object handle(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "getUniqueId":
+                    return uuid;
+                case "getName":
+                case "getDisplayName":
+                    return name;
+                case "isOnline":
+                    return players.containsKey(uuid);
+                case "getPlayer":
+                    return players.containsKey(uuid) ? proxy : null;
+                case "getScoreboard":
+                    return scoreboard;
+                case "setScoreboard":
+                    scoreboard = (Scoreboard) args[0];
+                    setScoreboardCount++;
+                    return null;
+                case "getPlayerProfile":
+                    if (profile == null) {
+                        profile = proxy(PlayerProfile.class, new ProfileHandler(uuid, name));
+                    }
+                    return profile;
+                default:
+                    return super.handle(proxy, method, args);
+            }
+        }
+    }
+
+    private static class ProfileHandler extends Stub {
+
+        private final UUID uuid;
+        private final String name;
+
+        ProfileHandler(UUID uuid, String name) {
+            this.uuid = uuid;
+            this.name = name;
+        }
+
+        @Override
+        Object handle(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "getUniqueId":
+                    return uuid;
+                case "getName":
+                    return name;
+                case "isComplete":
+                    return uuid != null && name != null;
+                case "update":
+                    return CompletableFuture.completedFuture(proxy);
+                case "clone":
+                    return proxy;
+                default:
+                    return super.handle(proxy, method, args);
+            }
+        }
+    }
+
+    private static class ScoreboardManagerHandler extends Stub {
+
+        private Scoreboard mainScoreboard;
+
+        @Override
+        Object handle(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "getMainScoreboard":
+                    if (mainScoreboard == null) {
+                        mainScoreboard = proxy(Scoreboard.class, new ScoreboardHandler());
+                    }
+                    return mainScoreboard;
+                case "getNewScoreboard":
+                    return proxy(Scoreboard.class, new ScoreboardHandler());
+                default:
+                    return super.handle(proxy, method, args);
+            }
+        }
+    }
+
+    private static class ScoreboardHandler extends Stub {
+
+        private final Map<String, Objective> objectives = new HashMap<>();
+        private final Map<String, Team> teams = new HashMap<>();
+
+        @Override
+        Object handle(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "registerNewObjective":
+                    Objective objective = proxy(Objective.class, new ObjectiveHandler((Scoreboard) proxy, (String) args[0]));
+                    objectives.put((String) args[0], objective);
+                    return objective;
+                case "getObjective":
+                    return args[0] instanceof String ? objectives.get(args[0]) : null;
+                case "registerNewTeam":
+                    Team team = proxy(Team.class, new TeamHandler());
+                    teams.put((String) args[0], team);
+                    return team;
+                case "getTeam":
+                    return teams.get(args[0]);
+                default:
+                    return super.handle(proxy, method, args);
+            }
+        }
+    }
+
+    private static class ObjectiveHandler extends Stub {
+
+        private final Scoreboard scoreboard;
+        private final String name;
+
+        ObjectiveHandler(Scoreboard scoreboard, String name) {
+            this.scoreboard = scoreboard;
+            this.name = name;
+        }
+
+        @Override
+        Object handle(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "getScoreboard":
+                    return scoreboard;
+                case "getName":
+                    return name;
+                default:
+                    return super.handle(proxy, method, args);
+            }
+        }
+    }
+
+    private static class TeamHandler extends Stub {
+
+        private String prefix = "";
+
+        @Override
+        Object handle(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "getPrefix":
+                    return prefix;
+                case "setPrefix":
+                    prefix = (String) args[0];
+                    return null;
+                default:
+                    return super.handle(proxy, method, args);
+            }
+        }
+    }
+
+    private static class BossBarHandler extends Stub {
+
+        private final NamespacedKey key;
+        private final List<Player> players = new ArrayList<>();
+        private String title;
+        private BarColor color;
+        private BarStyle style;
+        private double progress = 1;
+        private int updateCount = 0;
+
+        BossBarHandler(NamespacedKey key, String title, BarColor color, BarStyle style) {
+            this.key = key;
+            this.title = title;
+            this.color = color;
+            this.style = style;
+        }
+
+        @Override
+        Object handle(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "getKey":
+                    return key;
+                case "getTitle":
+                    return title;
+                case "getColor":
+                    return color;
+                case "getStyle":
+                    return style;
+                case "getProgress":
+                    return progress;
+                case "setTitle":
+                    title = (String) args[0];
+                    updateCount++;
+                    return null;
+                case "setColor":
+                    color = (BarColor) args[0];
+                    updateCount++;
+                    return null;
+                case "setStyle":
+                    style = (BarStyle) args[0];
+                    updateCount++;
+                    return null;
+                case "setProgress":
+                    progress = (double) args[0];
+                    updateCount++;
+                    return null;
+                case "addPlayer":
+                    if (!players.contains(args[0])) {
+                        players.add((Player) args[0]);
+                    }
+                    return null;
+                case "removePlayer":
+                    players.remove(args[0]);
+                    return null;
+                case "removeAll":
+                    players.clear();
+                    return null;
+                case "getPlayers":
+                    return new ArrayList<>(players);
+                default:
+                    return super.handle(proxy, method, args);
+            }
+        }
+    }
+
+    private static class InventoryHandler extends Stub {
+
+        private final ItemStack[] contents;
+        private int setItemCount = 0;
+
+        InventoryHandler(int size) {
+            this.contents = new ItemStack[size];
+        }
+
+        @Override
+        Object handle(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "getSize":
+                    return contents.length;
+                case "getItem":
+                    return contents[(int) args[0]];
+                case "setItem":
+                    contents[(int) args[0]] = (ItemStack) args[1];
+                    setItemCount++;
+                    return null;
+                case "getContents":
+                case "getStorageContents":
+                    return contents.clone();
+                case "setContents":
+                case "setStorageContents":
+                    ItemStack[] items = (ItemStack[]) args[0];
+                    for (int i = 0; i < contents.length; i++) {
+                        contents[i] = i < items.length ? items[i] : null;
+                    }
+                    return null;
+                case "clear":
+                    if (args.length == 0) {
+                        Arrays.fill(contents, null);
+                    } else {
+                        contents[(int) args[0]] = null;
+                    }
+                    return null;
+                case "getType":
+                    return InventoryType.CHEST;
+                default:
+                    return super.handle(proxy, method, args);
+            }
+        }
+    }
+
+    private static class ItemFactoryHandler extends Stub {
+
+        @Override
+        Object handle(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "getItemMeta":
+                    return meta(new HashMap<>());
+                case "isApplicable":
+                    return true;
+                case "asMetaFor":
+                    return args[0];
+                case "updateMaterial":
+                    return args[1];
+                case "equals":
+                    return values((ItemMeta) args[0]).equals(values((ItemMeta) args[1]));
+                default:
+                    return super.handle(proxy, method, args);
+            }
+        }
+
+        private static Map<String, Object> values(ItemMeta meta) {
+            return meta == null ? Collections.emptyMap() : ((MetaHandler) Proxy.getInvocationHandler(meta)).values;
+        }
+    }
+
+    private static ItemMetaStub meta(Map<String, Object> values) {
+        return proxy(ItemMetaStub.class, new MetaHandler(values));
+    }
+
+    /**
+     * Stores all properties of an item meta in a map. Setters write, getters read and has-methods check a property,
+     * persistent data is stored in the same map.
+     */
+    private static class MetaHandler implements InvocationHandler {
+
+        private final Map<String, Object> values;
+
+        MetaHandler(Map<String, Object> values) {
+            this.values = values;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            int params = args == null ? 0 : args.length;
+            switch (name) {
+                case "equals":
+                    return args[0] instanceof ItemMeta && Proxy.isProxyClass(args[0].getClass())
+                            && Proxy.getInvocationHandler(args[0]) instanceof MetaHandler
+                            && values.equals(((MetaHandler) Proxy.getInvocationHandler(args[0])).values);
+                case "hashCode":
+                    return values.hashCode();
+                case "toString":
+                    return "ItemMeta" + values;
+                case "clone":
+                    return meta(new HashMap<>(values));
+                case "getPersistentDataContainer":
+                    return proxy(PersistentDataContainer.class, new DataContainerHandler(values));
+            }
+            if (name.startsWith("set") && params == 1) {
+                if (args[0] == null) {
+                    values.remove(name.substring(3));
+                } else {
+                    values.put(name.substring(3), args[0] instanceof List ? new ArrayList<>((List<?>) args[0]) : args[0]);
+                }
+                return method.getReturnType() == boolean.class ? true : null;
+            }
+            if (name.startsWith("has") && params == 0) {
+                return values.containsKey(name.substring(3));
+            }
+            if (name.startsWith("get") && params == 0 && values.containsKey(name.substring(3))) {
+                return values.get(name.substring(3));
+            }
+            return defaultValue(method.getReturnType());
+        }
+    }
+
+    private static class DataContainerHandler implements InvocationHandler {
+
+        private final Map<String, Object> values;
+
+        DataContainerHandler(Map<String, Object> values) {
+            this.values = values;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "set":
+                    values.put("data:" + args[0], args[2]);
+                    return null;
+                case "get":
+                    return values.get("data:" + args[0]);
+                case "has":
+                    return values.containsKey("data:" + args[0]);
+                case "remove":
+                    values.remove("data:" + args[0]);
+                    return null;
+                case "isEmpty":
+                    return values.keySet().stream().noneMatch(key -> key.startsWith("data:"));
+                default:
+                    return defaultValue(method.getReturnType());
+            }
+        }
+    }
+}
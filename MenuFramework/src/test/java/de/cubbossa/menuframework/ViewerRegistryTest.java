@@ -0,0 +1,102 @@
+package de.cubbossa.menuframework;
+
+import de.cubbossa.menuframework.inventory.implementations.RectInventoryMenu;
+import de.cubbossa.menuframework.scoreboard.CustomScoreboard;
+import de.cubbossa.menuframework.scoreboard.CustomScoreboardHandler;
+import net.kyori.adventure.text.Component;
+import org.bukkit.entity.Player;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+public class ViewerRegistryTest {
+
+    private static class Attachment implements ViewerRegistry.Attachment {
+
+        private final Map<UUID, int[]> state = new HashMap<>();
+
+        void open(ViewerRegistry registry, UUID viewer) {
+            state.put(viewer, new int[64]);
+            registry.attach(viewer, this);
+        }
+
+        @Override
+        public void releaseViewer(UUID viewer) {
+            state.remove(viewer);
+        }
+    }
+
+    @Test
+    public void release() {
+        ViewerRegistry registry = new ViewerRegistry();
+        Attachment menu = new Attachment();
+        Attachment scoreboard = new Attachment();
+        UUID a = UUID.randomUUID();
+        UUID b = UUID.randomUUID();
+
+        menu.open(registry, a);
+        scoreboard.open(registry, a);
+        menu.open(registry, b);
+        Assert.assertEquals(2, registry.getViewerCount());
+        Assert.assertEquals(2, registry.getAttachments(a).size());
+
+        registry.release(a);
+        Assert.assertEquals(1, registry.getViewerCount());
+        Assert.assertFalse(menu.state.containsKey(a));
+        Assert.assertFalse(scoreboard.state.containsKey(a));
+        Assert.assertTrue(menu.state.containsKey(b));
+    }
+
+    @Test
+    public void detach() {
+        ViewerRegistry registry = new ViewerRegistry();
+        Attachment menu = new Attachment();
+        UUID a = UUID.randomUUID();
+
+        menu.open(registry, a);
+        registry.detach(a, menu);
+        Assert.assertEquals(0, registry.getViewerCount());
+        registry.release(a);
+        Assert.assertTrue(menu.state.containsKey(a));
+    }
+
+    @Test
+    public void noLeakOnJoinQuitCycles() {
+        TestServer.install();
+        ViewerRegistry registry = ViewerRegistry.getInstance();
+        CustomScoreboardHandler scoreboardHandler = CustomScoreboardHandler.getInstance();
+        CustomScoreboard scoreboard = new CustomScoreboard("leak", Component.text("Leak"), 3);
+        scoreboard.setLine(0, Component.text("static"));
+        CustomScoreboard sharedScoreboard = new CustomScoreboard("shared", Component.text("Shared"), 3);
+        sharedScoreboard.setShared(true);
+        var menu = new RectInventoryMenu(Component.text("Menu"), 3) {
+            int retained() {
+                return viewer.size() + viewStates.size() + previous.size();
+            }
+        };
+        RectInventoryMenu parent = new RectInventoryMenu(Component.text("Parent"), 3);
+
+        for (int i = 0; i < 5_000; i++) {
+            Player player = TestServer.addPlayer("Player" + i);
+            scoreboard.show(player);
+            sharedScoreboard.show(player);
+            menu.open(player);
+            menu.setPrevious(player, parent);
+            Assert.assertTrue(registry.getAttachments(player.getUniqueId()).size() >= 4);
+
+            registry.onQuit(new PlayerQuitEvent(player, "quit"));
+            TestServer.removePlayer(player);
+        }
+        Assert.assertEquals(0, registry.getViewerCount());
+        Assert.assertEquals(0, scoreboardHandler.getViewerCount());
+        Assert.assertFalse(scoreboard.hasViewers());
+        Assert.assertEquals(0, scoreboard.getBoardCount());
+        Assert.assertFalse(sharedScoreboard.hasViewers());
+        Assert.assertEquals(0, sharedScoreboard.getBoardCount());
+        Assert.assertEquals(0, menu.retained());
+    }
+}
@@ -0,0 +1,88 @@
+package de.cubbossa.menuframework.bossbar;
+
+import de.cubbossa.menuframework.TestServer;
+import de.cubbossa.menuframework.util.AnimationEngine;
+import de.cubbossa.menuframework.util.FrameRing;
+import org.bukkit.boss.BarColor;
+import org.bukkit.boss.KeyedBossBar;
+import org.bukkit.entity.Player;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CustomBossBarTest {
+
+    @Before
+    public void setup() {
+        TestServer.install();
+    }
+
+    @Test
+    public void skipUnchangedProperties() {
+        Player player = TestServer.addPlayer("Steve");
+        CustomBossBar bar = CustomBossBar.Builder.builder("test")
+                .withAnimationIntervals(4)
+                .withAnimationTicks(1)
+                .withColor(BarColor.RED)
+                .withColorAnimation(FrameRing.of(BarColor.RED, BarColor.RED, BarColor.BLUE, BarColor.BLUE))
+                .withTextAnimation(FrameRing.of("a", "a", "a", "b"))
+                .withProgressAnimation(i -> .5)
+                .build();
+        KeyedBossBar bossBar = bar.getBossBar();
+        int created = TestServer.getBossBarUpdateCount(bossBar);
+
+        bar.show(player);
+        for (int i = 0; i < 4; i++) {
+            AnimationEngine.getInstance().tick();
+        }
+        // "a" and "b" as title and blue as color, the progress never changes
+        Assert.assertEquals(3, bar.getSentCount());
+        Assert.assertEquals(9, bar.getSkippedCount());
+        Assert.assertEquals(3, TestServer.getBossBarUpdateCount(bossBar) - created);
+        Assert.assertEquals("b", bossBar.getTitle());
+        Assert.assertEquals(BarColor.BLUE, bossBar.getColor());
+
+        // The next period switches the title and the color back and forth
+        bar.resetMetrics();
+        for (int i = 0; i < 4; i++) {
+            AnimationEngine.getInstance().tick();
+        }
+        Assert.assertEquals(4, bar.getSentCount());
+        Assert.assertEquals(8, bar.getSkippedCount());
+    }
+
+    @Test
+    public void stopAnimationOnLastHide() {
+        Player first = TestServer.addPlayer("Steve");
+        Player second = TestServer.addPlayer("Alex");
+        CustomBossBar bar = CustomBossBar.Builder.builder("test")
+                .withAnimationTicks(1)
+                .withTextAnimation(FrameRing.of("a", "b"))
+                .build();
+
+        Assert.assertFalse(bar.isAnimationRunning());
+        bar.show(first);
+        bar.show(second);
+        Assert.assertTrue(bar.isAnimationRunning());
+
+        bar.hide(first);
+        Assert.assertTrue(bar.isAnimationRunning());
+        AnimationEngine.getInstance().tick();
+        Assert.assertEquals("a", bar.getBossBar().getTitle());
+
+        bar.hide(second);
+        Assert.assertFalse(bar.isAnimationRunning());
+        int updates = TestServer.getBossBarUpdateCount(bar.getBossBar());
+        long evaluated = bar.getSentCount() + bar.getSkippedCount();
+        for (int i = 0; i < 4; i++) {
+            AnimationEngine.getInstance().tick();
+        }
+        Assert.assertEquals(updates, TestServer.getBossBarUpdateCount(bar.getBossBar()));
+        Assert.assertEquals(evaluated, bar.getSentCount() + bar.getSkippedCount());
+
+        bar.show(first);
+        Assert.assertTrue(bar.isAnimationRunning());
+        AnimationEngine.getInstance().tick();
+        Assert.assertEquals("b", bar.getBossBar().getTitle());
+    }
+}
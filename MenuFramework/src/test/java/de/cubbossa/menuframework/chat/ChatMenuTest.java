@@ -0,0 +1,74 @@
+package de.cubbossa.menuframework.chat;
+
+import net.kyori.adventure.text.Component;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ChatMenuTest {
+
+    private static class CountingMenu extends ChatMenu<String> {
+
+        private final AtomicInteger rendered;
+
+        private CountingMenu(String message, AtomicInteger rendered) {
+            super(message);
+            this.rendered = rendered;
+        }
+
+        @Override
+        public Component toComponent(String message) {
+            rendered.incrementAndGet();
+            return Component.text(message);
+        }
+    }
+
+    private static ChatMenu<String> tree(String name, int depth, AtomicInteger rendered) {
+        ChatMenu<String> menu = new CountingMenu(name, rendered);
+        if (depth > 0) {
+            for (int i = 0; i < 3; i++) {
+                menu.addSub(tree(name + "." + i, depth - 1, rendered));
+            }
+        }
+        return menu;
+    }
+
+    private static void flatten(ChatMenu<?> menu, int indentation, List<Component> lines) {
+        lines.add(menu.indentation(indentation).append(Component.text((String) menu.getMessage())));
+        menu.getSubs().forEach(sub -> flatten(sub, indentation + 1, lines));
+    }
+
+    @Test
+    public void lineCount() {
+        AtomicInteger rendered = new AtomicInteger();
+        ChatMenu<String> menu = tree("root", 4, rendered);
+        Assert.assertEquals(1 + 3 + 9 + 27 + 81, menu.getLineCount());
+        Assert.assertEquals(0, rendered.get());
+    }
+
+    @Test
+    public void renderPages() {
+        AtomicInteger rendered = new AtomicInteger();
+        ChatMenu<String> menu = tree("root", 4, rendered);
+        List<Component> lines = new ArrayList<>();
+        flatten(menu, -1, lines);
+
+        for (int page = 0; page * 7 < lines.size(); page++) {
+            rendered.set(0);
+            List<Component> components = menu.toComponents(page, 7);
+            Assert.assertEquals(lines.subList(page * 7, Integer.min(page * 7 + 7, lines.size())), components);
+            Assert.assertEquals(components.size(), rendered.get());
+        }
+    }
+
+    @Test
+    public void pageAfterLastPage() {
+        ChatMenu<String> menu = tree("root", 1, new AtomicInteger());
+        List<Component> components = menu.toComponents(5, 2);
+        Assert.assertEquals(1, components.size());
+        Assert.assertEquals(menu.indentation(0).append(Component.text("root.2")), components.get(0));
+    }
+}
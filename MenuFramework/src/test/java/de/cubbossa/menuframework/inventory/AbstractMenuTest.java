@@ -0,0 +1,124 @@
+package de.cubbossa.menuframework.inventory;
+
+import de.cubbossa.menuframework.TestServer;
+import de.cubbossa.menuframework.inventory.context.ClickContext;
+import de.cubbossa.menuframework.inventory.context.ContextConsumer;
+import de.cubbossa.menuframework.inventory.context.TargetContext;
+import de.cubbossa.menuframework.inventory.exception.ItemPlaceException;
+import de.cubbossa.menuframework.inventory.implementations.RectInventoryMenu;
+import net.kyori.adventure.text.Component;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+public class AbstractMenuTest {
+
+    @Before
+    public void setup() {
+        TestServer.install();
+    }
+
+    @Test
+    public void diffRenderWritesChangedSlotOnly() throws ItemPlaceException {
+        Player player = TestServer.addPlayer("Steve");
+        RectInventoryMenu menu = new RectInventoryMenu(Component.text("Menu"), 3);
+        menu.setRenderMode(Menu.RenderMode.DIFF);
+        for (int slot = 0; slot < 27; slot++) {
+            // Suppliers return a new but equal stack on each render
+            menu.setItem(slot, () -> new ItemStack(Material.PAPER));
+        }
+        menu.open(player);
+        Inventory inventory = menu.getInventory(player);
+        Assert.assertEquals(27, TestServer.getSetItemCount(inventory));
+
+        TestServer.resetSetItemCount(inventory);
+        menu.render(player, false);
+        Assert.assertEquals(0, TestServer.getSetItemCount(inventory));
+
+        menu.setItem(4, new ItemStack(Material.DIAMOND));
+        menu.render(player, false);
+        Assert.assertEquals(1, TestServer.getSetItemCount(inventory));
+        Assert.assertEquals(Material.DIAMOND, inventory.getItem(4).getType());
+
+        TestServer.resetSetItemCount(inventory);
+        menu.setItem(5, new ItemStack(Material.EMERALD));
+        menu.refresh(4, 5);
+        Assert.assertEquals(1, TestServer.getSetItemCount(inventory));
+        Assert.assertEquals(Material.EMERALD, inventory.getItem(5).getType());
+    }
+
+    @Test
+    public void fullRenderWritesAllSlots() throws ItemPlaceException {
+        Player player = TestServer.addPlayer("Steve");
+        RectInventoryMenu menu = new RectInventoryMenu(Component.text("Menu"), 3);
+        for (int slot = 0; slot < 27; slot++) {
+            menu.setItem(slot, new ItemStack(Material.PAPER));
+        }
+        menu.open(player);
+        Inventory inventory = menu.getInventory(player);
+
+        TestServer.resetSetItemCount(inventory);
+        menu.setItem(4, new ItemStack(Material.DIAMOND));
+        menu.render(player, false);
+        Assert.assertEquals(27, TestServer.getSetItemCount(inventory));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectAnimationOutsideOfPage() {
+        RectInventoryMenu menu = new RectInventoryMenu(Component.text("Menu"), 3);
+        menu.playEndlessAnimation(1, 0, 26, 27);
+    }
+
+    @Test
+    public void clickHandlerLookupDoesNotAllocate() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean threadBean) || !threadBean.isThreadAllocatedMemorySupported()) {
+            return;
+        }
+        Player player = TestServer.addPlayer("Steve");
+        RectInventoryMenu menu = new RectInventoryMenu(Component.text("Menu"), 6);
+        // Slots of the fourth page exceed the Integer cache, so that boxing a slot would allocate
+        int offset = 3 * 54;
+        int[] clicks = new int[1];
+        for (int slot = 0; slot < 54; slot += 2) {
+            menu.setClickHandler(offset + slot, Action.LEFT, c -> clicks[0]++);
+        }
+        menu.open(player);
+        menu.setOffset(player, offset);
+
+        ClickContext[] contexts = new ClickContext[54];
+        for (int slot = 0; slot < 54; slot++) {
+            contexts[slot] = new ClickContext(player, menu, slot, Action.LEFT, true);
+        }
+        long id = Thread.currentThread().getId();
+        int hits = interact(menu, contexts, offset);
+
+        long before = threadBean.getThreadAllocatedBytes(id);
+        hits += interact(menu, contexts, offset);
+        long allocated = threadBean.getThreadAllocatedBytes(id) - before;
+
+        Assert.assertEquals(0, allocated);
+        Assert.assertTrue(hits > 0);
+        Assert.assertTrue(clicks[0] > 0);
+    }
+
+    private int interact(AbstractMenu menu, ClickContext[] contexts, int offset) {
+        int hits = 0;
+        for (int i = 0; i < 100_000; i++) {
+            int slot = i % 54;
+            ContextConsumer<? extends TargetContext<?>> handler = menu.getClickHandler(offset + slot, (i & 1) == 0 ? Action.LEFT : Action.RIGHT);
+            if (handler != null) {
+                hits++;
+            }
+            menu.handleInteract(Action.LEFT, contexts[slot]);
+        }
+        return hits;
+    }
+}
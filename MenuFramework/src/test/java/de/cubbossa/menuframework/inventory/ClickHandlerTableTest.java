@@ -0,0 +1,97 @@
+package de.cubbossa.menuframework.inventory;
+
+import de.cubbossa.menuframework.inventory.context.ClickContext;
+import de.cubbossa.menuframework.inventory.context.ContextConsumer;
+import de.cubbossa.menuframework.inventory.context.TargetContext;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+public class ClickHandlerTableTest {
+
+    @Test
+    public void uniqueOrdinals() {
+        Action<ClickContext> custom = new Action<>();
+        Assert.assertNotEquals(Action.LEFT.getOrdinal(), Action.RIGHT.getOrdinal());
+        Assert.assertTrue(custom.getOrdinal() > Action.RIGHT_CLICK_CLIENT_ENTITY.getOrdinal());
+        Assert.assertTrue(custom.getOrdinal() < Action.count());
+    }
+
+    @Test
+    public void putAndGet() {
+        ContextConsumer<ClickContext> left = c -> {};
+        ContextConsumer<ClickContext> custom = c -> {};
+        Action<ClickContext> customAction = new Action<>();
+
+        ClickHandlerTable table = new ClickHandlerTable(9);
+        table.put(4, Action.LEFT, left);
+        table.put(20, customAction, custom);
+
+        Assert.assertSame(left, table.get(4, Action.LEFT));
+        Assert.assertNull(table.get(4, Action.RIGHT));
+        Assert.assertNull(table.get(4, customAction));
+        Assert.assertSame(custom, table.get(20, customAction));
+        Assert.assertNull(table.get(-1, Action.LEFT));
+        Assert.assertNull(table.get(100, Action.LEFT));
+
+        table.remove(4);
+        Assert.assertFalse(table.contains(4));
+        table.clear();
+        Assert.assertNull(table.get(20, customAction));
+    }
+
+    @Test
+    public void negativeSlots() {
+        ContextConsumer<ClickContext> left = c -> {};
+        ContextConsumer<ClickContext> right = c -> {};
+
+        ClickHandlerTable table = new ClickHandlerTable(9);
+        table.put(-1, Action.LEFT, left);
+        table.put(-10, Action.RIGHT, right);
+
+        Assert.assertSame(left, table.get(-1, Action.LEFT));
+        Assert.assertSame(right, table.get(-10, Action.RIGHT));
+        Assert.assertNull(table.get(8, Action.LEFT));
+        Assert.assertTrue(table.contains(-10));
+
+        table.remove(-1, Action.LEFT);
+        Assert.assertNull(table.get(-1, Action.LEFT));
+        Assert.assertTrue(table.contains(-1));
+        table.remove(-10);
+        Assert.assertFalse(table.contains(-10));
+    }
+
+    @Test
+    public void getDoesNotAllocate() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean threadBean) || !threadBean.isThreadAllocatedMemorySupported()) {
+            return;
+        }
+        ClickHandlerTable table = new ClickHandlerTable(54);
+        for (int slot = 0; slot < 54; slot += 2) {
+            table.put(slot, Action.LEFT, c -> {});
+        }
+        long id = Thread.currentThread().getId();
+        int hits = resolve(table);
+
+        long before = threadBean.getThreadAllocatedBytes(id);
+        hits += resolve(table);
+        long allocated = threadBean.getThreadAllocatedBytes(id) - before;
+
+        Assert.assertEquals(0, allocated);
+        Assert.assertTrue(hits > 0);
+    }
+
+    private int resolve(ClickHandlerTable table) {
+        int hits = 0;
+        for (int i = 0; i < 100_000; i++) {
+            ContextConsumer<? extends TargetContext<?>> handler = table.get(i % 54, (i & 1) == 0 ? Action.LEFT : Action.RIGHT);
+            if (handler != null) {
+                hits++;
+            }
+        }
+        return hits;
+    }
+}
@@ -0,0 +1,58 @@
+package de.cubbossa.menuframework.inventory;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class InventorySnapshotTest {
+
+    @Test
+    public void writeOnlyChangedSlot() {
+        InventorySnapshot<String> snapshot = new InventorySnapshot<>(9);
+        String[] content = {"a", "b", "c", "d", "e", "f", "g", "h", "i"};
+        List<Integer> written = new ArrayList<>();
+
+        for (int slot = 0; slot < content.length; slot++) {
+            snapshot.write(slot, content[slot], (s, c) -> written.add(s));
+        }
+        Assert.assertEquals(9, written.size());
+
+        written.clear();
+        content[4] = "changed";
+        for (int slot = 0; slot < content.length; slot++) {
+            snapshot.write(slot, content[slot], (s, c) -> written.add(s));
+        }
+        Assert.assertEquals(1, written.size());
+        Assert.assertEquals(4, (int) written.get(0));
+    }
+
+    @Test
+    public void writeClearedSlot() {
+        InventorySnapshot<String> snapshot = new InventorySnapshot<>(1);
+        Assert.assertTrue(snapshot.write(0, null, (s, c) -> {}));
+        Assert.assertFalse(snapshot.write(0, null, (s, c) -> {}));
+        Assert.assertTrue(snapshot.write(0, "a", (s, c) -> {}));
+        Assert.assertTrue(snapshot.write(0, null, (s, c) -> {}));
+    }
+
+    @Test
+    public void invalidate() {
+        InventorySnapshot<String> snapshot = new InventorySnapshot<>(2);
+        snapshot.write(0, "a", (s, c) -> {});
+        snapshot.write(1, "b", (s, c) -> {});
+        snapshot.invalidate(1);
+        Assert.assertFalse(snapshot.write(0, "a", (s, c) -> {}));
+        Assert.assertTrue(snapshot.write(1, "b", (s, c) -> {}));
+        snapshot.invalidate();
+        Assert.assertTrue(snapshot.write(0, "a", (s, c) -> {}));
+    }
+
+    @Test
+    public void growBeyondSize() {
+        InventorySnapshot<String> snapshot = new InventorySnapshot<>(1);
+        Assert.assertTrue(snapshot.write(40, "a", (s, c) -> {}));
+        Assert.assertEquals("a", snapshot.get(40));
+    }
+}
@@ -20,5 +20,7 @@ public class LayeredMenuTest {
         Assert.assertEquals(0x333, BottomMenu.getMaskFromSlots(new int[]{0, 1, 4, 5, 8, 9}));
         Assert.assertEquals(0, BottomMenu.getMaskFromSlots(new int[0]));
         Assert.assertEquals(1, BottomMenu.getMaskFromSlots(new int[]{0}));
+        Assert.assertEquals(0x30, BottomMenu.getMaskFromSlots(new int[]{4, 5, 5}));
+        Assert.assertEquals((1L << 53) | 1, BottomMenu.getMaskFromSlots(new int[]{0, 53}));
     }
 }
\ No newline at end of file
@@ -0,0 +1,43 @@
+package de.cubbossa.menuframework.inventory;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+public class ListMenuDataSourceTest {
+
+    private static final List<Integer> ELEMENTS = IntStream.range(0, 80_000).boxed().collect(Collectors.toList());
+
+    @Test
+    public void fetchFromList() {
+        ListMenuDataSource<Integer> source = ListMenuDataSource.of(ELEMENTS);
+        Assert.assertEquals(80_000, source.size());
+        Assert.assertEquals(Arrays.asList(45, 46, 47), source.fetch(45, 3));
+        Assert.assertEquals(Arrays.asList(79_998, 79_999), source.fetch(79_998, 45));
+        Assert.assertTrue(source.fetch(80_000, 45).isEmpty());
+        Assert.assertTrue(source.fetch(-1, 45).isEmpty());
+    }
+
+    @Test
+    public void fetchFromCollection() {
+        ListMenuDataSource<Integer> source = ListMenuDataSource.of(new LinkedHashSet<>(ELEMENTS));
+        Assert.assertEquals(Arrays.asList(45, 46, 47), source.fetch(45, 3));
+        Assert.assertEquals(Arrays.asList(79_998, 79_999), source.fetch(79_998, 45));
+        Assert.assertTrue(source.fetch(80_000, 45).isEmpty());
+    }
+
+    @Test
+    public void collectionChanges() {
+        List<Integer> elements = new ArrayList<>(Arrays.asList(1, 2));
+        ListMenuDataSource<Integer> source = ListMenuDataSource.of(elements);
+        elements.add(3);
+        Assert.assertEquals(3, source.size());
+        Assert.assertEquals(Arrays.asList(2, 3), source.fetch(1, 2));
+    }
+}
@@ -0,0 +1,72 @@
+package de.cubbossa.menuframework.inventory;
+
+import de.cubbossa.menuframework.inventory.context.ContextConsumer;
+import de.cubbossa.menuframework.inventory.context.TargetContext;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+/**
+ * Compares slot lookups on the sorted maps of {@link AbstractMenu} with lookups on a compiled {@link MenuTemplate}.
+ * Not run as part of the test suite, start the main method manually.
+ */
+public class MenuTemplateBenchmark {
+
+    private static final int SLOTS_PER_PAGE = 54;
+    private static final int PAGES = 10;
+    private static final int ROUNDS = 200;
+
+    public static void main(String[] args) {
+        SortedMap<Integer, Supplier<ItemStack>> items = new TreeMap<>();
+        SortedMap<Integer, Map<Action<?>, ContextConsumer<? extends TargetContext<?>>>> clicks = new TreeMap<>();
+        for (int slot = 0; slot < SLOTS_PER_PAGE * PAGES; slot++) {
+            items.put(slot, () -> null);
+            Map<Action<?>, ContextConsumer<? extends TargetContext<?>>> map = new HashMap<>();
+            map.put(Action.LEFT, c -> {});
+            map.put(Action.RIGHT, c -> {});
+            clicks.put(slot, map);
+        }
+        MenuTemplate template = MenuTemplate.compile(SLOTS_PER_PAGE, items, new TreeMap<>(), clicks);
+
+        for (int i = 0; i < 5; i++) {
+            run("TreeMap", () -> {
+                long hits = 0;
+                for (int slot = 0; slot < SLOTS_PER_PAGE * PAGES; slot++) {
+                    if (items.get(slot) != null) {
+                        hits++;
+                    }
+                    if (clicks.getOrDefault(slot, new HashMap<>()).get(Action.RIGHT) != null) {
+                        hits++;
+                    }
+                }
+                return hits;
+            });
+            run("Template", () -> {
+                long hits = 0;
+                for (int slot = 0; slot < SLOTS_PER_PAGE * PAGES; slot++) {
+                    if (template.getItemStack(slot) != null) {
+                        hits++;
+                    }
+                    if (template.getClickHandler(slot, Action.RIGHT) != null) {
+                        hits++;
+                    }
+                }
+                return hits;
+            });
+        }
+    }
+
+    private static void run(String name, Supplier<Long> lookups) {
+        long hits = 0;
+        long start = System.nanoTime();
+        for (int round = 0; round < ROUNDS; round++) {
+            hits += lookups.get();
+        }
+        long nanos = System.nanoTime() - start;
+        System.out.printf("%-8s %8.1f ns/lookup (%d hits)%n", name, nanos / (double) hits, hits);
+    }
+}
@@ -0,0 +1,59 @@
+package de.cubbossa.menuframework.inventory;
+
+import de.cubbossa.menuframework.inventory.context.ContextConsumer;
+import de.cubbossa.menuframework.inventory.context.TargetContext;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+public class MenuTemplateTest {
+
+    @Test
+    public void lookupAcrossPages() {
+        Supplier<ItemStack> a = () -> null;
+        Supplier<ItemStack> b = () -> null;
+        ContextConsumer<TargetContext<?>> click = c -> {};
+
+        SortedMap<Integer, Supplier<ItemStack>> items = new TreeMap<>();
+        items.put(-5, a);
+        items.put(13, b);
+        SortedMap<Integer, Map<Action<?>, ContextConsumer<? extends TargetContext<?>>>> clicks = new TreeMap<>();
+        clicks.put(20, Map.of(Action.LEFT, click));
+
+        MenuTemplate template = MenuTemplate.compile(9, items, new TreeMap<>(), clicks);
+        Assert.assertSame(a, template.getItemStack(-5));
+        Assert.assertSame(b, template.getItemStack(13));
+        Assert.assertNull(template.getItemStack(0));
+        Assert.assertNull(template.getItemStack(-100));
+        Assert.assertNull(template.getItemStack(100));
+        Assert.assertSame(click, template.getClickHandler(20, Action.LEFT));
+        Assert.assertNull(template.getClickHandler(20, Action.RIGHT));
+        Assert.assertNull(template.getClickHandler(13, Action.LEFT));
+        Assert.assertEquals(-5, template.getFirstSlot());
+        Assert.assertEquals(20, template.getLastSlot());
+    }
+
+    @Test
+    public void soundsDoNotChangePageRange() {
+        Consumer<Player> sound = p -> {};
+        SortedMap<Integer, Consumer<Player>> sounds = new TreeMap<>();
+        sounds.put(30, sound);
+
+        MenuTemplate template = MenuTemplate.compile(9, new TreeMap<>(), sounds, new TreeMap<>());
+        Assert.assertSame(sound, template.getSoundPlayer(30));
+        Assert.assertEquals(0, template.getFirstSlot());
+        Assert.assertEquals(0, template.getLastSlot());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidPageSize() {
+        MenuTemplate.compile(0, new TreeMap<>(), new TreeMap<>(), new TreeMap<>());
+    }
+}
@@ -0,0 +1,104 @@
+package de.cubbossa.menuframework.inventory;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class ObservableListModelTest {
+
+    private static class Element {
+        private final int id;
+
+        private Element(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public String toString() {
+            return "#" + id;
+        }
+    }
+
+    @Test
+    public void matchesArrayList() {
+        Random random = new Random(7);
+        ObservableListModel<Element> model = new ObservableListModel<>();
+        List<Element> expected = new ArrayList<>();
+
+        for (int i = 0; i < 20_000; i++) {
+            int operation = random.nextInt(10);
+            if (expected.isEmpty() || operation < 4) {
+                Element element = new Element(i);
+                int index = random.nextInt(expected.size() + 1);
+                model.add(index, element);
+                expected.add(index, element);
+            } else if (operation < 6) {
+                int index = random.nextInt(expected.size());
+                Assert.assertSame(expected.remove(index), model.remove(index));
+            } else if (operation < 8) {
+                Element element = expected.remove(random.nextInt(expected.size()));
+                Assert.assertTrue(model.remove(element));
+                Assert.assertFalse(model.contains(element));
+            } else {
+                int from = random.nextInt(expected.size());
+                int to = random.nextInt(expected.size());
+                expected.add(to, expected.remove(from));
+                model.move(from, to);
+            }
+            Assert.assertEquals(expected.size(), model.size());
+            if (!expected.isEmpty()) {
+                int index = random.nextInt(expected.size());
+                Assert.assertSame(expected.get(index), model.get(index));
+                Assert.assertEquals(index, model.indexOf(expected.get(index)));
+            }
+        }
+        Assert.assertEquals(expected.subList(10, 55), model.fetch(10, 45));
+    }
+
+    @Test
+    public void events() {
+        ObservableListModel<Element> model = new ObservableListModel<>();
+        List<String> events = new ArrayList<>();
+        model.addListener(new ObservableListModel.Listener<>() {
+            @Override
+            public void inserted(int index, Element element) {
+                events.add("insert " + index + " " + element);
+            }
+
+            @Override
+            public void removed(int index, Element element) {
+                events.add("remove " + index + " " + element);
+            }
+
+            @Override
+            public void moved(int from, int to, Element element) {
+                events.add("move " + from + " " + to + " " + element);
+            }
+
+            @Override
+            public void updated(int index, Element element) {
+                events.add("update " + index + " " + element);
+            }
+        });
+        Element a = new Element(1);
+        Element b = new Element(2);
+        model.add(a);
+        model.add(0, b);
+        model.update(a);
+        model.move(0, 1);
+        model.remove(a);
+
+        Assert.assertEquals(List.of("insert 0 #1", "insert 0 #2", "update 1 #1", "move 0 1 #2", "remove 0 #1"), events);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void duplicate() {
+        ObservableListModel<Element> model = new ObservableListModel<>();
+        Element element = new Element(1);
+        model.add(element);
+        model.add(element);
+    }
+}
@@ -0,0 +1,71 @@
+package de.cubbossa.menuframework.inventory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Compares typing a search query into a list menu with 100k entries, once by scanning all entries on each keystroke
+ * like rebuilding the list menu used to, and once with a {@link SearchableListSource}.
+ * Not run as part of the test suite, start the main method manually.
+ */
+public class SearchableListSourceBenchmark {
+
+    private static final int ENTRIES = 100_000;
+    private static final String[] WORDS = {"spawn", "shop", "nether", "portal", "arena", "district", "mine", "farm",
+            "castle", "village", "tower", "market", "harbor", "forest", "desert", "island"};
+    private static final String[] QUERIES = {"m", "ma", "mar", "mark", "marke", "market", "market t", "market to"};
+
+    public static void main(String[] args) {
+        Random random = new Random(42);
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < ENTRIES; i++) {
+            names.add(WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + " " + i);
+        }
+
+        for (int round = 0; round < 5; round++) {
+            int found = 0;
+            long start = System.nanoTime();
+            for (String query : QUERIES) {
+                String[] queryTokens = query.split(" ");
+                List<String> result = new ArrayList<>();
+                for (String name : names) {
+                    if (matches(name.toLowerCase(Locale.ROOT).split(" "), queryTokens)) {
+                        result.add(name);
+                    }
+                }
+                found += result.subList(0, Integer.min(45, result.size())).size();
+            }
+            double scan = (System.nanoTime() - start) / 1e6 / QUERIES.length;
+
+            start = System.nanoTime();
+            SearchableListSource<String> source = new SearchableListSource<>(names, s -> s);
+            source.size();
+            double build = (System.nanoTime() - start) / 1e6;
+
+            start = System.nanoTime();
+            for (String query : QUERIES) {
+                source.setQuery(query);
+                found += source.fetch(0, 45).size();
+            }
+            double indexed = (System.nanoTime() - start) / 1e6 / QUERIES.length;
+
+            System.out.printf("%d entries: scan %.2f ms/keystroke, index build %.1f ms, indexed %.3f ms/keystroke (%d found, %d matches)%n",
+                    ENTRIES, scan, build, indexed, found, source.size());
+        }
+    }
+
+    private static boolean matches(String[] nameTokens, String[] queryTokens) {
+        outer:
+        for (String queryToken : queryTokens) {
+            for (String nameToken : nameTokens) {
+                if (nameToken.startsWith(queryToken)) {
+                    continue outer;
+                }
+            }
+            return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,61 @@
+package de.cubbossa.menuframework.inventory;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+public class SearchableListSourceTest {
+
+    private static final List<String> WARPS = Arrays.asList(
+            "Spawn", "Shop Area", "Nether Portal", "PvP Arena", "Shopping District", "spawn-east", "End Portal");
+
+    @Test
+    public void emptyQuery() {
+        SearchableListSource<String> source = new SearchableListSource<>(WARPS, s -> s);
+        Assert.assertEquals(WARPS.size(), source.size());
+        Assert.assertEquals(WARPS, source.fetch(0, 100));
+    }
+
+    @Test
+    public void prefixSearch() {
+        SearchableListSource<String> source = new SearchableListSource<>(WARPS, s -> s);
+        source.setQuery("sh");
+        Assert.assertEquals(Arrays.asList("Shop Area", "Shopping District"), source.fetch(0, 100));
+        source.setQuery("sho");
+        Assert.assertEquals(Arrays.asList("Shop Area", "Shopping District"), source.fetch(0, 100));
+        source.setQuery("shop a");
+        Assert.assertEquals(Arrays.asList("Shop Area"), source.fetch(0, 100));
+        source.setQuery("POR");
+        Assert.assertEquals(Arrays.asList("Nether Portal", "End Portal"), source.fetch(0, 100));
+        source.setQuery("east spawn");
+        Assert.assertEquals(Arrays.asList("spawn-east"), source.fetch(0, 100));
+        source.setQuery("x");
+        Assert.assertEquals(0, source.size());
+    }
+
+    @Test
+    public void filterAndOrder() {
+        SearchableListSource<String> source = new SearchableListSource<>(WARPS, s -> s);
+        source.setComparator(Comparator.comparing(String::toLowerCase));
+        source.setQuery("p");
+        Assert.assertEquals(Arrays.asList("End Portal", "Nether Portal", "PvP Arena"), source.fetch(0, 100));
+        source.setFilter(s -> !s.startsWith("End"));
+        Assert.assertEquals(Arrays.asList("Nether Portal", "PvP Arena"), source.fetch(0, 100));
+        Assert.assertEquals(Arrays.asList("PvP Arena"), source.fetch(1, 1));
+    }
+
+    @Test
+    public void invalidate() {
+        List<String> warps = new ArrayList<>(WARPS);
+        SearchableListSource<String> source = new SearchableListSource<>(warps, s -> s);
+        source.setQuery("mine");
+        Assert.assertEquals(0, source.size());
+        warps.add("Mines");
+        source.invalidate();
+        Assert.assertEquals(Arrays.asList("Mines"), source.fetch(0, 100));
+    }
+}
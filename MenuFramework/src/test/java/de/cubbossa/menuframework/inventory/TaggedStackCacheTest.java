@@ -0,0 +1,83 @@
+package de.cubbossa.menuframework.inventory;
+
+import de.cubbossa.menuframework.TestServer;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.persistence.PersistentDataType;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.function.Supplier;
+
+public class TaggedStackCacheTest {
+
+    @Before
+    public void setup() {
+        TestServer.install();
+    }
+
+    @Test
+    public void reuseTaggedCopy() {
+        ItemStack source = new ItemStack(Material.PAPER);
+        ItemStack tagged = TaggedStackCache.tag(source);
+
+        Assert.assertNotSame(source, tagged);
+        Assert.assertTrue(tagged.getItemMeta().getPersistentDataContainer()
+                .has(TaggedStackCache.getPreventPickupKey(), PersistentDataType.SHORT));
+        Assert.assertSame(tagged, TaggedStackCache.tag(source));
+    }
+
+    @Test
+    public void retagModifiedSource() {
+        ItemStack source = new ItemStack(Material.PAPER);
+        ItemStack tagged = TaggedStackCache.tag(source);
+
+        ItemMeta meta = source.getItemMeta();
+        meta.setDisplayName("Renamed");
+        source.setItemMeta(meta);
+        ItemStack renamed = TaggedStackCache.tag(source);
+        Assert.assertNotSame(tagged, renamed);
+        Assert.assertEquals("Renamed", renamed.getItemMeta().getDisplayName());
+        Assert.assertSame(renamed, TaggedStackCache.tag(source));
+
+        source.setAmount(3);
+        Assert.assertEquals(3, TaggedStackCache.tag(source).getAmount());
+    }
+
+    @Test
+    public void reuseTaggedCopyOfFreshInstances() {
+        Supplier<ItemStack> supplier = () -> new ItemStack(Material.PAPER);
+        ItemStack tagged = TaggedStackCache.tag(supplier, supplier.get());
+
+        for (int i = 0; i < 10; i++) {
+            Assert.assertSame(tagged, TaggedStackCache.tag(supplier, supplier.get()));
+        }
+    }
+
+    @Test
+    public void retagChangedFreshInstances() {
+        int[] amount = {1};
+        Supplier<ItemStack> supplier = () -> new ItemStack(Material.PAPER, amount[0]);
+        ItemStack tagged = TaggedStackCache.tag(supplier, supplier.get());
+
+        amount[0] = 2;
+        ItemStack changed = TaggedStackCache.tag(supplier, supplier.get());
+        Assert.assertNotSame(tagged, changed);
+        Assert.assertEquals(2, changed.getAmount());
+        Assert.assertSame(changed, TaggedStackCache.tag(supplier, supplier.get()));
+    }
+
+    @Test
+    public void retagSupplierInstanceModifiedInPlace() {
+        ItemStack source = new ItemStack(Material.PAPER);
+        Supplier<ItemStack> supplier = () -> source;
+        TaggedStackCache.tag(supplier, supplier.get());
+        ItemStack tagged = TaggedStackCache.tag(supplier, supplier.get());
+        Assert.assertSame(tagged, TaggedStackCache.tag(supplier, supplier.get()));
+
+        source.setAmount(5);
+        Assert.assertEquals(5, TaggedStackCache.tag(supplier, supplier.get()).getAmount());
+    }
+}
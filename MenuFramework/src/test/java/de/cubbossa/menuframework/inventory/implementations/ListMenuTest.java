@@ -0,0 +1,377 @@
+package de.cubbossa.menuframework.inventory.implementations;
+
+import de.cubbossa.menuframework.TestServer;
+import de.cubbossa.menuframework.inventory.Button;
+import de.cubbossa.menuframework.inventory.ListMenuDataSource;
+import de.cubbossa.menuframework.inventory.ObservableListModel;
+import net.kyori.adventure.text.Component;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+public class ListMenuTest {
+
+    private static final int LIST_SLOTS = 18;
+
+    private static class CountingSource implements ListMenuDataSource<Integer> {
+
+        private final List<Integer> elements;
+        private final List<int[]> fetches = new ArrayList<>();
+        private int sizeCalls = 0;
+
+        CountingSource(int size) {
+            this.elements = IntStream.range(0, size).boxed().collect(Collectors.toList());
+        }
+
+        @Override
+        public int size() {
+            sizeCalls++;
+            return elements.size();
+        }
+
+        @Override
+        public List<Integer> fetch(int offset, int limit) {
+            fetches.add(new int[]{offset, limit});
+            return ListMenuDataSource.slice(elements, offset, limit);
+        }
+    }
+
+    private static class ManualExecutor implements Executor {
+
+        private final Queue<Runnable> tasks = new ArrayDeque<>();
+
+        @Override
+        public void execute(Runnable command) {
+            tasks.add(command);
+        }
+
+        void runNext() {
+            tasks.remove().run();
+        }
+
+        void runAll() {
+            while (!tasks.isEmpty()) {
+                runNext();
+            }
+        }
+    }
+
+    private int buttons = 0;
+    private int stacks = 0;
+
+    @Before
+    public void setup() {
+        TestServer.install();
+        buttons = 0;
+        stacks = 0;
+    }
+
+    private Button button(int element) {
+        buttons++;
+        // The amount identifies the element of a slot
+        Supplier<ItemStack> stack = () -> {
+            stacks++;
+            return new ItemStack(Material.PAPER, element % 64 + 1);
+        };
+        return Button.builder().withItemStack(stack);
+    }
+
+    @Test
+    public void fetchRenderedPageOnly() {
+        Player player = TestServer.addPlayer("Steve");
+        CountingSource source = new CountingSource(1_000);
+        ListMenu menu = new ListMenu(Component.text("List"), 3);
+        menu.setListSource(source, this::button);
+
+        menu.open(player);
+        Assert.assertEquals(1, source.fetches.size());
+        Assert.assertArrayEquals(new int[]{0, LIST_SLOTS}, source.fetches.get(0));
+        // Only the elements of the rendered page are materialized
+        Assert.assertEquals(LIST_SLOTS, buttons);
+        Inventory inventory = menu.getInventory(player);
+        Assert.assertEquals(1, inventory.getItem(0).getAmount());
+        Assert.assertEquals(18, inventory.getItem(17).getAmount());
+
+        menu.setNextPage(player);
+        menu.setNextPage(player);
+        Assert.assertEquals(3, source.fetches.size());
+        Assert.assertArrayEquals(new int[]{LIST_SLOTS, LIST_SLOTS}, source.fetches.get(1));
+        Assert.assertArrayEquals(new int[]{2 * LIST_SLOTS, LIST_SLOTS}, source.fetches.get(2));
+        Assert.assertEquals(3 * LIST_SLOTS, buttons);
+        Assert.assertEquals(37, inventory.getItem(0).getAmount());
+    }
+
+    @Test
+    public void maxPageFromSourceSize() {
+        CountingSource source = new CountingSource(1_000);
+        ListMenu menu = new ListMenu(Component.text("List"), 3);
+        menu.setListSource(source, this::button);
+
+        int sizeCalls = source.sizeCalls;
+        Assert.assertEquals(1_000 / LIST_SLOTS, menu.getMaxPage());
+        Assert.assertEquals(sizeCalls + 1, source.sizeCalls);
+        Assert.assertTrue(source.fetches.isEmpty());
+
+        source.elements.subList(LIST_SLOTS + 2, source.elements.size()).clear();
+        Assert.assertEquals(1, menu.getMaxPage());
+        source.elements.subList(0, 3).clear();
+        Assert.assertEquals(0, menu.getMaxPage());
+        Assert.assertTrue(source.fetches.isEmpty());
+        Assert.assertEquals(0, buttons);
+    }
+
+    @Test
+    public void lastPageIsPartial() {
+        Player player = TestServer.addPlayer("Steve");
+        CountingSource source = new CountingSource(LIST_SLOTS + 5);
+        ListMenu menu = new ListMenu(Component.text("List"), 3);
+        menu.setListSource(source, this::button);
+
+        menu.open(player);
+        menu.setNextPage(player);
+        Inventory inventory = menu.getInventory(player);
+        Assert.assertEquals(Arrays.asList(19, 20, 21, 22, 23), IntStream.range(0, 5)
+                .mapToObj(slot -> inventory.getItem(slot).getAmount()).collect(Collectors.toList()));
+        Assert.assertNull(inventory.getItem(5));
+        Assert.assertEquals(LIST_SLOTS + 5, buttons);
+    }
+
+    private ListMenu asyncMenu(CountingSource source, ManualExecutor executor) {
+        ListMenu menu = new ListMenu(Component.text("List"), 3);
+        menu.setLoadingItem(new ItemStack(Material.BARRIER));
+        menu.setListSource(source, this::button, executor);
+        return menu;
+    }
+
+    private static Material type(Inventory inventory, int slot) {
+        ItemStack stack = inventory.getItem(slot);
+        return stack == null ? null : stack.getType();
+    }
+
+    @Test
+    public void asyncPrefetchAdjacentPages() {
+        Player player = TestServer.addPlayer("Steve");
+        CountingSource source = new CountingSource(100);
+        ManualExecutor executor = new ManualExecutor();
+        ListMenu menu = asyncMenu(source, executor);
+
+        menu.open(player);
+        Inventory inventory = menu.getInventory(player);
+        Assert.assertEquals(Material.BARRIER, type(inventory, 0));
+        Assert.assertEquals(2, executor.tasks.size());
+        Assert.assertEquals(0, buttons);
+
+        executor.runAll();
+        Assert.assertEquals(Arrays.asList(0, LIST_SLOTS), source.fetches.stream().map(f -> f[0]).collect(Collectors.toList()));
+        // Buttons and their stacks are built on the executor
+        Assert.assertEquals(2 * LIST_SLOTS, buttons);
+        Assert.assertEquals(2 * LIST_SLOTS, stacks);
+        Assert.assertEquals(1, inventory.getItem(0).getAmount());
+
+        // The prefetched page is rendered without waiting for the executor
+        menu.setNextPage(player);
+        Assert.assertEquals(19, inventory.getItem(0).getAmount());
+        Assert.assertEquals(2 * LIST_SLOTS, stacks);
+        Assert.assertEquals(1, executor.tasks.size());
+        executor.runAll();
+        Assert.assertEquals(2 * LIST_SLOTS, source.fetches.get(2)[0]);
+    }
+
+    @Test
+    public void asyncDiscardStaleGeneration() {
+        Player player = TestServer.addPlayer("Steve");
+        CountingSource source = new CountingSource(100);
+        ManualExecutor executor = new ManualExecutor();
+        ListMenu menu = asyncMenu(source, executor);
+
+        menu.open(player);
+        Inventory inventory = menu.getInventory(player);
+        menu.refreshList();
+        Assert.assertEquals(4, executor.tasks.size());
+
+        // The requests before the refresh are discarded
+        executor.runNext();
+        executor.runNext();
+        Assert.assertEquals(Material.BARRIER, type(inventory, 0));
+        executor.runNext();
+        Assert.assertEquals(Material.PAPER, type(inventory, 0));
+    }
+
+    @Test
+    public void asyncKeepLoadedPageUntilReloaded() {
+        Player player = TestServer.addPlayer("Steve");
+        CountingSource source = new CountingSource(100);
+        ManualExecutor executor = new ManualExecutor();
+        ListMenu menu = asyncMenu(source, executor);
+
+        menu.open(player);
+        executor.runAll();
+        Inventory inventory = menu.getInventory(player);
+
+        // Refreshing other slots keeps the loaded pages
+        menu.refresh(LIST_SLOTS);
+        Assert.assertTrue(executor.tasks.isEmpty());
+
+        source.elements.set(0, 9);
+        menu.refresh(0);
+        Assert.assertEquals(Material.PAPER, type(inventory, 0));
+        Assert.assertEquals(1, inventory.getItem(0).getAmount());
+        Assert.assertEquals(2, executor.tasks.size());
+        executor.runAll();
+        Assert.assertEquals(10, inventory.getItem(0).getAmount());
+    }
+
+    @Test
+    public void asyncDiscardPageThatViewerLeft() {
+        Player player = TestServer.addPlayer("Steve");
+        CountingSource source = new CountingSource(1_000);
+        ManualExecutor executor = new ManualExecutor();
+        ListMenu menu = asyncMenu(source, executor);
+
+        menu.open(player);
+        menu.setOffset(player, 5 * 27);
+        Assert.assertEquals(5, executor.tasks.size());
+
+        // Pages 0 and 1 arrive after the viewer moved on to page 5
+        executor.runNext();
+        executor.runNext();
+        executor.runAll();
+        Inventory inventory = menu.getInventory(player);
+        Assert.assertEquals(5 * LIST_SLOTS % 64 + 1, inventory.getItem(0).getAmount());
+
+        menu.setOffset(player, 0);
+        Assert.assertEquals(Material.BARRIER, type(inventory, 0));
+        Assert.assertEquals(2, executor.tasks.size());
+    }
+
+    @Test
+    public void asyncRenderWholePageOnSizeChange() {
+        Player player = TestServer.addPlayer("Steve");
+        CountingSource source = new CountingSource(100);
+        ManualExecutor executor = new ManualExecutor();
+        ListMenu menu = asyncMenu(source, executor);
+
+        menu.open(player);
+        executor.runAll();
+        Inventory inventory = menu.getInventory(player);
+
+        // Same size: only the list slots of the viewed page are written
+        menu.refreshList();
+        TestServer.resetSetItemCount(inventory);
+        executor.runAll();
+        Assert.assertEquals(LIST_SLOTS, TestServer.getSetItemCount(inventory));
+
+        // Changed size: the pagination may change, so the whole page is cleared and rendered
+        source.elements.add(100);
+        menu.refreshList();
+        TestServer.resetSetItemCount(inventory);
+        executor.runAll();
+        Assert.assertEquals(27 + LIST_SLOTS, TestServer.getSetItemCount(inventory));
+    }
+
+    private ListMenu modelMenu(ObservableListModel<Integer> model, int size) {
+        for (int i = 0; i < size; i++) {
+            model.add(i);
+        }
+        ListMenu menu = new ListMenu(Component.text("List"), 3);
+        menu.setPerViewerState(true);
+        menu.setListModel(model, this::button);
+        return menu;
+    }
+
+    @Test
+    public void modelPatchAffectedSlotsPerViewer() {
+        Player first = TestServer.addPlayer("Steve");
+        Player second = TestServer.addPlayer("Alex");
+        ObservableListModel<Integer> model = new ObservableListModel<>();
+        ListMenu menu = modelMenu(model, 50);
+
+        menu.open(first);
+        menu.open(second);
+        menu.setOffset(second, 27);
+        TestServer.runTasks();
+        Inventory firstInventory = menu.getInventory(first);
+        Inventory secondInventory = menu.getInventory(second);
+        TestServer.resetSetItemCount(firstInventory);
+        TestServer.resetSetItemCount(secondInventory);
+
+        // Changes of one tick are flushed together
+        model.set(20, 99);
+        model.set(21, 98);
+        Assert.assertEquals(1, TestServer.getQueuedTaskCount());
+        TestServer.runTasks();
+        Assert.assertEquals(0, TestServer.getSetItemCount(firstInventory));
+        Assert.assertEquals(2, TestServer.getSetItemCount(secondInventory));
+        Assert.assertEquals(99 % 64 + 1, secondInventory.getItem(2).getAmount());
+
+        // Removing an element shifts all following slots
+        TestServer.resetSetItemCount(secondInventory);
+        model.remove(5);
+        TestServer.runTasks();
+        Assert.assertEquals(LIST_SLOTS - 5, TestServer.getSetItemCount(firstInventory));
+        Assert.assertEquals(LIST_SLOTS, TestServer.getSetItemCount(secondInventory));
+        Assert.assertEquals(7, firstInventory.getItem(5).getAmount());
+        Assert.assertEquals(20, secondInventory.getItem(0).getAmount());
+    }
+
+    @Test
+    public void modelClampViewersWhenMaxPageShrinks() {
+        Player first = TestServer.addPlayer("Steve");
+        Player second = TestServer.addPlayer("Alex");
+        ObservableListModel<Integer> model = new ObservableListModel<>();
+        ListMenu menu = modelMenu(model, 50);
+
+        menu.open(first);
+        menu.open(second);
+        menu.setOffset(second, 2 * 27);
+        TestServer.runTasks();
+
+        while (model.size() > LIST_SLOTS + 2) {
+            model.remove(model.size() - 1);
+        }
+        TestServer.runTasks();
+        Assert.assertEquals(1, menu.getMaxPage());
+        Assert.assertEquals(0, menu.getCurrentPage(first));
+        Assert.assertEquals(1, menu.getCurrentPage(second));
+        Inventory inventory = menu.getInventory(second);
+        Assert.assertEquals(19, inventory.getItem(0).getAmount());
+        Assert.assertNull(inventory.getItem(2));
+    }
+
+    @Test
+    public void modelListenerBoundWhileViewed() {
+        Player player = TestServer.addPlayer("Steve");
+        ObservableListModel<Integer> model = new ObservableListModel<>();
+        ListMenu menu = modelMenu(model, 10);
+        Assert.assertEquals(0, model.getListenerCount());
+
+        menu.open(player);
+        Assert.assertEquals(1, model.getListenerCount());
+        menu.handleClose(player);
+        Assert.assertEquals(0, model.getListenerCount());
+
+        // A closed menu does not flush changes, it renders the model on its next open
+        model.set(0, 42);
+        Assert.assertEquals(0, TestServer.getQueuedTaskCount());
+        menu.open(player);
+        Assert.assertEquals(1, model.getListenerCount());
+        Assert.assertEquals(43, menu.getInventory(player).getItem(0).getAmount());
+
+        menu.setListSource(null, this::button);
+        Assert.assertEquals(0, model.getListenerCount());
+    }
+}
@@ -0,0 +1,61 @@
+package de.cubbossa.menuframework.inventory.listener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Compares resolving the menu of an inventory event by looping over all open menus, like the listener used to,
+ * with a lookup in the {@link MenuIndex}. Not run as part of the test suite, start the main method manually.
+ */
+public class MenuIndexBenchmark {
+
+	private static final int MENUS = 1_000;
+	private static final int LOOP_EVENTS = 10_000;
+	private static final int INDEX_EVENTS = 1_000_000;
+
+	private static class FakeMenu {
+		private final Object inventory = new Object();
+		private final UUID viewer = UUID.randomUUID();
+
+		private boolean isThisInventory(Object inventory) {
+			return this.inventory.equals(inventory);
+		}
+	}
+
+	public static void main(String[] args) {
+		List<FakeMenu> menus = new ArrayList<>();
+		MenuIndex<Object, FakeMenu> index = new MenuIndex<>();
+		for (int i = 0; i < MENUS; i++) {
+			FakeMenu menu = new FakeMenu();
+			menus.add(menu);
+			index.put(menu.viewer, menu.inventory, menu);
+		}
+
+		for (int round = 0; round < 5; round++) {
+			int found = 0;
+			long start = System.nanoTime();
+			for (int i = 0; i < LOOP_EVENTS; i++) {
+				FakeMenu target = menus.get(i % MENUS);
+				for (FakeMenu menu : new ArrayList<>(menus)) {
+					if (menu.isThisInventory(target.inventory)) {
+						found++;
+					}
+				}
+			}
+			double loop = (System.nanoTime() - start) / (double) LOOP_EVENTS;
+
+			start = System.nanoTime();
+			for (int i = 0; i < INDEX_EVENTS; i++) {
+				FakeMenu target = menus.get(i % MENUS);
+				FakeMenu menu = index.get(target.viewer, target.inventory);
+				if (menu != null && menu.isThisInventory(target.inventory)) {
+					found++;
+				}
+			}
+			double indexed = (System.nanoTime() - start) / (double) INDEX_EVENTS;
+
+			System.out.printf("%d menus: loop %.1f ns/event, index %.1f ns/event (%d found)%n", MENUS, loop, indexed, found);
+		}
+	}
+}
@@ -0,0 +1,125 @@
+package de.cubbossa.menuframework.scoreboard;
+
+import de.cubbossa.menuframework.TestServer;
+import net.kyori.adventure.text.Component;
+import org.bukkit.entity.Player;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class CustomScoreboardTest {
+
+    private final AtomicInteger renders = new AtomicInteger();
+    private String text = "a";
+
+    @Before
+    public void setup() {
+        TestServer.install();
+    }
+
+    private CustomScoreboard scoreboard(boolean shared) {
+        CustomScoreboard scoreboard = new CustomScoreboard("test", Component.text("Title"), 2);
+        scoreboard.setShared(shared);
+        scoreboard.setLine(0, () -> {
+            renders.incrementAndGet();
+            return Component.text(text);
+        });
+        scoreboard.setLine(1, Component.text("static"));
+        return scoreboard;
+    }
+
+    private String line(Player player, int index) {
+        return player.getScoreboard().getTeam("test" + index).getPrefix();
+    }
+
+    @Test
+    public void skipUnchangedLines() {
+        Player player = TestServer.addPlayer("Steve");
+        CustomScoreboard scoreboard = scoreboard(false);
+        scoreboard.show(player);
+        Assert.assertEquals(2, scoreboard.getSentCount());
+        Assert.assertEquals("a", line(player, 0));
+
+        scoreboard.resetMetrics();
+        scoreboard.update(player);
+        Assert.assertEquals(0, scoreboard.getSentCount());
+        Assert.assertEquals(2, scoreboard.getSkippedCount());
+
+        text = "b";
+        scoreboard.updateLine(player, 0);
+        scoreboard.updateLine(player, 1);
+        Assert.assertEquals(1, scoreboard.getSentCount());
+        Assert.assertEquals(3, scoreboard.getSkippedCount());
+        Assert.assertEquals("b", line(player, 0));
+    }
+
+    @Test
+    public void patchSharedBoardOnce() {
+        List<Player> players = List.of(TestServer.addPlayer("Steve"), TestServer.addPlayer("Alex"), TestServer.addPlayer("Notch"));
+        CustomScoreboard scoreboard = scoreboard(true);
+        scoreboard.show(players);
+        Assert.assertEquals(1, scoreboard.getBoardCount());
+        Assert.assertEquals(2, scoreboard.getSentCount());
+
+        scoreboard.resetMetrics();
+        renders.set(0);
+        text = "b";
+        scoreboard.updateLine(scoreboard.getViewers(), 0);
+        Assert.assertEquals(1, renders.get());
+        Assert.assertEquals(1, scoreboard.getSentCount());
+        Assert.assertEquals(1, scoreboard.getBoardCount());
+        for (Player player : players) {
+            Assert.assertEquals("b", line(player, 0));
+            // The board has been patched in place and was not sent again
+            Assert.assertEquals(1, TestServer.getSetScoreboardCount(player));
+        }
+
+        scoreboard.resetMetrics();
+        scoreboard.update(scoreboard.getViewers());
+        Assert.assertEquals(2, renders.get());
+        Assert.assertEquals(0, scoreboard.getSentCount());
+        Assert.assertEquals(2, scoreboard.getSkippedCount());
+    }
+
+    @Test
+    public void splitOffDifferingViewer() {
+        Player steve = TestServer.addPlayer("Steve");
+        Player alex = TestServer.addPlayer("Alex");
+        CustomScoreboard scoreboard = scoreboard(true);
+        scoreboard.show(List.of(steve, alex));
+
+        text = "b";
+        scoreboard.updateLine(steve, 0);
+        Assert.assertEquals(2, scoreboard.getBoardCount());
+        Assert.assertEquals("b", line(steve, 0));
+        Assert.assertEquals("a", line(alex, 0));
+        Assert.assertEquals(2, TestServer.getSetScoreboardCount(steve));
+        Assert.assertEquals(1, TestServer.getSetScoreboardCount(alex));
+
+        // Alex sees the same content again and joins the board of Steve
+        scoreboard.updateLine(alex, 0);
+        Assert.assertEquals(1, scoreboard.getBoardCount());
+        Assert.assertSame(steve.getScoreboard(), alex.getScoreboard());
+        Assert.assertEquals("b", line(alex, 0));
+    }
+
+    @Test
+    public void refreshSharedBoardOnce() {
+        List<Player> players = List.of(TestServer.addPlayer("Steve"), TestServer.addPlayer("Alex"), TestServer.addPlayer("Notch"));
+        CustomScoreboard scoreboard = scoreboard(true);
+        scoreboard.setRefreshInterval(0, 1);
+        scoreboard.show(players);
+
+        renders.set(0);
+        text = "b";
+        ScoreboardScheduler.getInstance().tick();
+        Assert.assertEquals(1, renders.get());
+        Assert.assertEquals(1, ScoreboardScheduler.getInstance().getUpdateCount());
+        for (Player player : players) {
+            Assert.assertEquals("b", line(player, 0));
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package de.cubbossa.menuframework.scoreboard;
+
+import de.cubbossa.menuframework.TestServer;
+import net.kyori.adventure.text.Component;
+import org.bukkit.entity.Player;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ScoreboardSchedulerTest {
+
+    private final AtomicInteger renders = new AtomicInteger();
+
+    @Before
+    public void setup() {
+        TestServer.install();
+    }
+
+    private CustomScoreboard scoreboard() {
+        CustomScoreboard scoreboard = new CustomScoreboard("test", Component.text("Title"), 1);
+        scoreboard.setLine(0, () -> Component.text(String.valueOf(renders.incrementAndGet())), 1);
+        return scoreboard;
+    }
+
+    @Test
+    public void pauseWithoutViewers() {
+        ScoreboardScheduler scheduler = ScoreboardScheduler.getInstance();
+        Player player = TestServer.addPlayer("Steve");
+        CustomScoreboard scoreboard = scoreboard();
+        Assert.assertEquals(0, scheduler.getScheduledCount());
+
+        scoreboard.show(player);
+        Assert.assertEquals(1, scheduler.getScheduledCount());
+        renders.set(0);
+        scheduler.tick();
+        scheduler.tick();
+        Assert.assertEquals(2, renders.get());
+        Assert.assertEquals(2, scheduler.getUpdateCount());
+
+        // The refresh is dropped from the scheduler once it is due
+        scoreboard.hide(player);
+        scheduler.tick();
+        Assert.assertEquals(0, scheduler.getScheduledCount());
+        for (int i = 0; i < 5; i++) {
+            scheduler.tick();
+        }
+        Assert.assertEquals(2, renders.get());
+
+        scoreboard.show(player);
+        renders.set(0);
+        Assert.assertEquals(1, scheduler.getScheduledCount());
+        scheduler.tick();
+        Assert.assertEquals(1, renders.get());
+    }
+
+    @Test
+    public void resumeBeforeDue() {
+        ScoreboardScheduler scheduler = ScoreboardScheduler.getInstance();
+        Player player = TestServer.addPlayer("Steve");
+        CustomScoreboard scoreboard = scoreboard();
+        scoreboard.show(player);
+
+        scoreboard.hide(player);
+        scoreboard.show(player);
+        Assert.assertEquals(1, scheduler.getScheduledCount());
+        renders.set(0);
+        scheduler.tick();
+        Assert.assertEquals(1, renders.get());
+        Assert.assertEquals(1, scheduler.getScheduledCount());
+    }
+
+    @Test
+    public void pauseOnQuit() {
+        ScoreboardScheduler scheduler = ScoreboardScheduler.getInstance();
+        Player player = TestServer.addPlayer("Steve");
+        CustomScoreboard scoreboard = scoreboard();
+        scoreboard.show(player);
+
+        scoreboard.releaseViewer(player.getUniqueId());
+        scheduler.tick();
+        Assert.assertEquals(0, scheduler.getScheduledCount());
+        Assert.assertEquals(0, scheduler.getUpdateCount());
+    }
+
+    @Test
+    public void cancelRefresh() {
+        ScoreboardScheduler scheduler = ScoreboardScheduler.getInstance();
+        Player player = TestServer.addPlayer("Steve");
+        CustomScoreboard scoreboard = scoreboard();
+        scoreboard.show(player);
+
+        scoreboard.setRefreshInterval(0, 0);
+        scheduler.tick();
+        Assert.assertEquals(0, scheduler.getScheduledCount());
+
+        // Showing the scoreboard again must not continue a cancelled refresh
+        scoreboard.hide(player);
+        scoreboard.show(player);
+        Assert.assertEquals(0, scheduler.getScheduledCount());
+    }
+}
@@ -0,0 +1,75 @@
+package de.cubbossa.menuframework.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.function.Consumer;
+
+/**
+ * Compares one scheduler task per animation with the {@link AnimationEngine}. The per animation tasks are modelled like
+ * the bukkit scheduler, which keeps all pending tasks in a priority queue ordered by their next run.
+ * Not run as part of the test suite, start the main method manually.
+ */
+public class AnimationEngineBenchmark {
+
+    private static final int MENUS = 1_000;
+    private static final int ANIMATIONS_PER_MENU = 10;
+    private static final int TICKS = 2_000;
+
+    private static class Task {
+        private final Animation animation;
+        private long nextRun;
+
+        private Task(Animation animation, long nextRun) {
+            this.animation = animation;
+            this.nextRun = nextRun;
+        }
+    }
+
+    private static long updates = 0;
+
+    public static void main(String[] args) {
+        new AnimationEngine();
+        Random random = new Random(42);
+        List<Animation> animations = new ArrayList<>();
+        for (int menu = 0; menu < MENUS; menu++) {
+            int menuId = menu;
+            // capture the menu, so that each menu has its own update task instance
+            Consumer<int[]> refresh = slots -> updates += menuId >= 0 ? 1 : 0;
+            for (int i = 0; i < ANIMATIONS_PER_MENU; i++) {
+                animations.add(new Animation(new int[]{i}, 1 + random.nextInt(20), refresh));
+            }
+        }
+
+        for (int round = 0; round < 3; round++) {
+            updates = 0;
+            PriorityQueue<Task> scheduler = new PriorityQueue<>((a, b) -> Long.compare(a.nextRun, b.nextRun));
+            animations.forEach(animation -> scheduler.add(new Task(animation, 1)));
+            long start = System.nanoTime();
+            for (long tick = 1; tick <= TICKS; tick++) {
+                while (!scheduler.isEmpty() && scheduler.peek().nextRun <= tick) {
+                    Task task = scheduler.poll();
+                    task.animation.getUpdateTask().accept(task.animation.getIndices());
+                    task.nextRun = tick + task.animation.getTicks();
+                    scheduler.add(task);
+                }
+            }
+            double perTask = (System.nanoTime() - start) / (double) TICKS / 1000;
+            long taskUpdates = updates;
+
+            updates = 0;
+            AnimationEngine engine = AnimationEngine.getInstance();
+            animations.forEach(Animation::play);
+            start = System.nanoTime();
+            for (int tick = 0; tick < TICKS; tick++) {
+                engine.tick();
+            }
+            double wheel = (System.nanoTime() - start) / (double) TICKS / 1000;
+            animations.forEach(Animation::stop);
+
+            System.out.printf("tasks: %d vs 1, tick: %.1f us vs %.1f us, update calls: %d vs %d%n",
+                    animations.size(), perTask, wheel, taskUpdates, updates);
+        }
+    }
+}
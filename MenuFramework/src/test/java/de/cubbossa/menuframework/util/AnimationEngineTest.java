@@ -0,0 +1,37 @@
+package de.cubbossa.menuframework.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+public class AnimationEngineTest {
+
+    @Test
+    public void batchIndicesOfSameUpdateTask() {
+        AnimationEngine engine = new AnimationEngine();
+        List<int[]> updates = new ArrayList<>();
+        Consumer<int[]> refresh = updates::add;
+        new Animation(new int[]{4, -2}, 1, refresh).play();
+        new Animation(new int[]{-7, 4, 0}, 1, refresh).play();
+
+        engine.tick();
+        Assert.assertEquals(1, updates.size());
+        Assert.assertArrayEquals(new int[]{-7, -2, 0, 4}, updates.get(0));
+    }
+
+    @Test
+    public void callUpdateTaskWithoutIndices() {
+        AnimationEngine engine = new AnimationEngine();
+        List<int[]> updates = new ArrayList<>();
+        new Animation(new int[0], 2, updates::add).play();
+
+        for (int i = 0; i < 4; i++) {
+            engine.tick();
+        }
+        Assert.assertEquals(2, updates.size());
+        Assert.assertArrayEquals(new int[0], updates.get(0));
+    }
+}
@@ -0,0 +1,98 @@
+package de.cubbossa.menuframework.util;
+
+import de.cubbossa.menuframework.TestServer;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+public class DebouncerTest {
+
+    @Before
+    public void setup() {
+        TestServer.install();
+    }
+
+    @Test
+    public void deliverOnlyLatestValue() {
+        Debouncer<UUID, String> debouncer = new Debouncer<>(5);
+        UUID player = UUID.randomUUID();
+        List<String> delivered = new ArrayList<>();
+
+        for (String text : new String[]{"h", "he", "hel", "hell", "hello"}) {
+            debouncer.submit(player, text, delivered::add);
+        }
+        Assert.assertEquals(4, debouncer.getDroppedCount());
+        Assert.assertEquals(0, debouncer.getDeliveredCount());
+        Assert.assertTrue(delivered.isEmpty());
+        Assert.assertEquals(1, TestServer.getQueuedTaskCount());
+
+        Assert.assertEquals(1, TestServer.runTasks());
+        Assert.assertEquals(List.of("hello"), delivered);
+        Assert.assertEquals(1, debouncer.getDeliveredCount());
+        Assert.assertEquals(4, debouncer.getDroppedCount());
+        Assert.assertTrue(debouncer.isLatest(player, "hello"));
+        Assert.assertTrue(debouncer.isOutdated(player, "hell"));
+
+        debouncer.submit(player, "hello!", delivered::add);
+        Assert.assertTrue(debouncer.isOutdated(player, "hello"));
+        TestServer.runTasks();
+        Assert.assertEquals(List.of("hello", "hello!"), delivered);
+        Assert.assertEquals(2, debouncer.getDeliveredCount());
+        Assert.assertEquals(4, debouncer.getDroppedCount());
+    }
+
+    @Test
+    public void debounceKeysSeparately() {
+        Debouncer<UUID, String> debouncer = new Debouncer<>(5);
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        List<String> delivered = new ArrayList<>();
+
+        debouncer.submit(first, "a", delivered::add);
+        debouncer.submit(second, "b", delivered::add);
+        debouncer.submit(first, "c", delivered::add);
+        TestServer.runTasks();
+
+        Assert.assertEquals(List.of("b", "c"), delivered);
+        Assert.assertEquals(2, debouncer.getDeliveredCount());
+        Assert.assertEquals(1, debouncer.getDroppedCount());
+        Assert.assertFalse(debouncer.isOutdated(second, "b"));
+    }
+
+    @Test
+    public void cancelDropsWaitingValue() {
+        Debouncer<UUID, String> debouncer = new Debouncer<>(5);
+        UUID player = UUID.randomUUID();
+        List<String> delivered = new ArrayList<>();
+
+        debouncer.submit(player, "text", delivered::add);
+        debouncer.cancel(player);
+        Assert.assertEquals(0, TestServer.runTasks());
+        Assert.assertTrue(delivered.isEmpty());
+        Assert.assertEquals(1, debouncer.getDroppedCount());
+        Assert.assertTrue(debouncer.isOutdated(player, "text"));
+
+        debouncer.resetMetrics();
+        Assert.assertEquals(0, debouncer.getDroppedCount());
+    }
+
+    @Test
+    public void deliverImmediatelyWithoutDelay() {
+        Debouncer<UUID, String> debouncer = new Debouncer<>(0);
+        UUID player = UUID.randomUUID();
+        List<String> delivered = new ArrayList<>();
+
+        debouncer.submit(player, "a", delivered::add);
+        debouncer.submit(player, "b", delivered::add);
+
+        Assert.assertEquals(0, TestServer.getQueuedTaskCount());
+        Assert.assertEquals(List.of("a", "b"), delivered);
+        Assert.assertEquals(2, debouncer.getDeliveredCount());
+        Assert.assertEquals(0, debouncer.getDroppedCount());
+        Assert.assertTrue(debouncer.isOutdated(player, "a"));
+    }
+}
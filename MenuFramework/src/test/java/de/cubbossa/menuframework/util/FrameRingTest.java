@@ -0,0 +1,99 @@
+package de.cubbossa.menuframework.util;
+
+import com.google.common.base.Strings;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+
+public class FrameRingTest {
+
+    @Test
+    public void getWrapsAround() {
+        FrameRing<String> ring = FrameRing.of("a", "b", "c");
+
+        Assert.assertEquals("a", ring.get(0));
+        Assert.assertEquals("c", ring.get(2));
+        Assert.assertEquals("a", ring.get(3));
+        Assert.assertEquals("b", ring.get(301));
+        Assert.assertEquals("b", ring.get(Integer.MAX_VALUE));
+        Assert.assertEquals("b", ring.apply(4));
+        Assert.assertEquals("b", ring.apply(Integer.valueOf(4)));
+        Assert.assertEquals("b", Animations.frame(ring, 7));
+    }
+
+    @Test
+    public void getNegativeIntervals() {
+        FrameRing<String> ring = FrameRing.of(List.of("a", "b", "c"));
+
+        Assert.assertEquals("c", ring.get(-1));
+        Assert.assertEquals("a", ring.get(-3));
+        Assert.assertEquals("c", ring.get(-4));
+        Assert.assertEquals("b", ring.get(Integer.MIN_VALUE));
+        for (int i = -30; i < 0; i++) {
+            Assert.assertSame(ring.get(i + 3 * 100), ring.get(i));
+        }
+    }
+
+    @Test
+    public void computeAndMap() {
+        FrameRing<Integer> ring = FrameRing.compute(4, i -> i * i);
+        FrameRing<String> mapped = ring.map(String::valueOf);
+
+        Assert.assertEquals(4, ring.size());
+        Assert.assertEquals(Integer.valueOf(9), ring.get(-1));
+        Assert.assertEquals("4", mapped.get(6));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectEmptyRing() {
+        FrameRing.compute(0, i -> i);
+    }
+
+    @Test
+    public void textShiftMatchesPerTickComputation() {
+        for (String text : new String[]{"Hello", "A", "Scrolling title"}) {
+            for (int spaces : new int[]{0, 1, 3}) {
+                for (boolean left : new boolean[]{true, false}) {
+                    FrameRing<String> ring = Animations.textShiftFrames(text, spaces, left);
+                    Assert.assertEquals(text.length() + spaces, ring.size());
+                    for (int i = 0; i < 100; i++) {
+                        Assert.assertEquals(textShift(text, spaces, left, i), ring.get(i));
+                        Assert.assertEquals(textShift(text, spaces, left, i), Animations.textShift(text, spaces, left).apply(i));
+                    }
+                }
+            }
+        }
+        Assert.assertEquals("", Animations.textShiftFrames("", 0, true).get(5));
+    }
+
+    @Test
+    public void linearProgressMatchesPerTickComputation() {
+        for (int size : new int[]{1, 4, 7, 20}) {
+            FrameRing<Double> ring = Animations.linearProgressFrames(size, 2, 5);
+            Assert.assertEquals(size, ring.size());
+            for (int i = 0; i < 100; i++) {
+                Assert.assertEquals(linearProgress(size, 2, 5, i), ring.get(i), 1e-12);
+            }
+            // Negative intervals continue the period backwards
+            Assert.assertEquals(linearProgress(size, 2, 5, size - 1), ring.get(-1), 1e-12);
+        }
+    }
+
+    // The animation functions as they were computed on each tick before frames were precomputed
+
+    private static String textShift(String text, int spaceCount, boolean left, int integer) {
+        int interval = text.length() + spaceCount;
+        int progress = left ? interval - (integer % interval) : integer % interval;
+        if (progress == 0) {
+            return text;
+        }
+        String s = text + Strings.repeat(" ", spaceCount);
+        String result = s.substring(progress) + s.substring(0, progress);
+        return result.substring(0, text.length());
+    }
+
+    private static double linearProgress(int intervalSize, double from, double to, int integer) {
+        return (integer % (double) intervalSize / intervalSize) * (to - from);
+    }
+}
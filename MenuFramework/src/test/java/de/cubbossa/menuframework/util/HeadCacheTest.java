@@ -0,0 +1,64 @@
+package de.cubbossa.menuframework.util;
+
+import de.cubbossa.menuframework.TestServer;
+import de.cubbossa.menuframework.inventory.Button;
+import de.cubbossa.menuframework.inventory.ListMenuDataSource;
+import de.cubbossa.menuframework.inventory.implementations.ListMenu;
+import net.kyori.adventure.text.Component;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.inventory.ItemStack;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+public class HeadCacheTest {
+
+    @Before
+    public void setup() {
+        TestServer.install();
+    }
+
+    private Button head(Player player) {
+        Supplier<ItemStack> stack = () -> ItemStackUtils.createCustomHead(player, Component.text(player.getName()), null);
+        return Button.builder().withItemStack(stack);
+    }
+
+    @Test
+    public void renderPlayerListWithoutResolving() {
+        Assert.assertTrue(HeadCache.isSupported());
+        HeadCache cache = new HeadCache();
+        List<Player> players = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            Player player = TestServer.addPlayer("Player" + i);
+            cache.onJoin(new PlayerJoinEvent(player, "joined"));
+            players.add(player);
+        }
+        Player viewer = players.get(0);
+        ListMenu menu = new ListMenu(Component.text("Players"), 6);
+        menu.setListSource(ListMenuDataSource.of(players), this::head);
+
+        // Joining only caches the profiles, heads are created on their first render
+        Assert.assertEquals(0, cache.getMissCount());
+        menu.open(viewer);
+        for (int page = 1; page <= menu.getMaxPage(); page++) {
+            menu.setNextPage(viewer);
+        }
+        Assert.assertEquals(0, cache.getResolveCount());
+        Assert.assertEquals(200, cache.getMissCount());
+        Assert.assertEquals(0, cache.getHitCount());
+
+        menu.setOffset(viewer, 0);
+        Assert.assertEquals(45, cache.getHitCount());
+        Assert.assertEquals(200, cache.getMissCount());
+        Assert.assertEquals(0, cache.getResolveCount());
+        ItemStack head = menu.getInventory(viewer).getItem(0);
+        Assert.assertEquals(Material.PLAYER_HEAD, head.getType());
+        Assert.assertEquals("Player0", head.getItemMeta().getDisplayName());
+    }
+}
@@ -0,0 +1,75 @@
+package de.cubbossa.menuframework.util;
+
+import de.cubbossa.menuframework.GUIHandler;
+import de.cubbossa.menuframework.TestServer;
+import net.kyori.adventure.text.Component;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class SerializerCacheTest {
+
+    @Test
+    public void serializeEqualComponentsOnce() {
+        AtomicInteger calls = new AtomicInteger();
+        SerializerCache cache = new SerializerCache(c -> "v" + calls.incrementAndGet(), 16);
+
+        String first = cache.serialize(Component.text("title"));
+        for (int i = 0; i < 99; i++) {
+            Assert.assertEquals(first, cache.serialize(Component.text("title")));
+        }
+        Assert.assertEquals(1, calls.get());
+        Assert.assertEquals(99, cache.getHitCount());
+        Assert.assertEquals(1, cache.getMissCount());
+        Assert.assertEquals(.99, cache.getHitRate(), 1e-9);
+
+        cache.resetMetrics();
+        Assert.assertEquals(0, cache.getHitCount());
+    }
+
+    @Test
+    public void evictWhenFull() {
+        AtomicInteger calls = new AtomicInteger();
+        SerializerCache cache = new SerializerCache(c -> "v" + calls.incrementAndGet(), 4);
+
+        for (int i = 0; i < 10; i++) {
+            cache.serialize(Component.text("line " + i));
+        }
+        Assert.assertTrue(cache.getSize() <= 4);
+        Assert.assertTrue(cache.getEvictionCount() >= 6);
+    }
+
+    @Test
+    public void disabled() {
+        AtomicInteger calls = new AtomicInteger();
+        SerializerCache cache = new SerializerCache(c -> "v" + calls.incrementAndGet(), 0);
+
+        cache.serialize(Component.text("title"));
+        cache.serialize(Component.text("title"));
+        Assert.assertEquals(2, calls.get());
+        Assert.assertEquals(0, cache.getSize());
+        Assert.assertEquals(0, cache.getHitCount());
+    }
+
+    @Test
+    public void enableThroughGuiHandler() {
+        TestServer.install();
+        Assert.assertEquals(0, GUIHandler.getInstance().getSerializerCacheSize());
+        Assert.assertEquals(0, ChatUtils.getLegacyCache().getMaximumSize());
+        Assert.assertEquals(0, ChatUtils.getGsonCache().getMaximumSize());
+
+        try {
+            GUIHandler.getInstance().setSerializerCacheSize(64);
+            Assert.assertEquals(64, GUIHandler.getInstance().getSerializerCacheSize());
+            Assert.assertEquals(64, ChatUtils.getGsonCache().getMaximumSize());
+
+            String legacy = ChatUtils.toLegacy(Component.text("title"));
+            Assert.assertEquals(legacy, ChatUtils.toLegacy(Component.text("title")));
+            Assert.assertEquals(1, ChatUtils.getLegacyCache().getHitCount());
+        } finally {
+            GUIHandler.getInstance().setSerializerCacheSize(0);
+        }
+        Assert.assertEquals(0, ChatUtils.getLegacyCache().getSize());
+    }
+}